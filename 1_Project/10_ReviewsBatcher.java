@@ -0,0 +1,156 @@
+package com.tenex.catalogue.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces single-book review lookups into batch calls. Requests arriving
+ * within one window (or until the batch is full) are sent as a single
+ * {@link ReviewsBatchFeignClient#getReviewsForBooks} call and the result is
+ * handed back to each caller; repeated ids in a window share one future.
+ *
+ * Metrics: {@code catalogue.reviews.batch.requests} and {@code .calls}
+ * (their ratio is published as {@code .coalescing-ratio}), {@code .size}
+ * (ids per call) and {@code .wait} (latency added by the window).
+ */
+@Service
+@Slf4j
+public class ReviewsBatcher {
+
+    @Autowired
+    private ReviewsBatchFeignClient reviewsBatchFeignClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalogue.reviews.batch.window-ms:5}")
+    private long windowMillis;
+
+    @Value("${catalogue.reviews.batch.max-size:100}")
+    private int maxBatchSize;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(8, 8, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000), new ThreadPoolExecutor.AbortPolicy());
+
+    private final Object lock = new Object();
+    private Map<String, Pending> pending = new HashMap<>();
+    private long generation;
+
+    private Counter requests;
+    private Counter calls;
+    private DistributionSummary batchSize;
+    private Timer waitTimer;
+
+    private record Pending(CompletableFuture<List<ReviewModel>> future, long enqueuedNanos) {
+    }
+
+    @PostConstruct
+    void init() {
+        requests = meterRegistry.counter("catalogue.reviews.batch.requests");
+        calls = meterRegistry.counter("catalogue.reviews.batch.calls");
+        batchSize = DistributionSummary.builder("catalogue.reviews.batch.size").register(meterRegistry);
+        waitTimer = Timer.builder("catalogue.reviews.batch.wait").register(meterRegistry);
+        Gauge.builder("catalogue.reviews.batch.coalescing-ratio", this, batcher -> batcher.requests.count() / Math.max(1, batcher.calls.count()))
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<List<ReviewModel>> getReviewsForBook(String bookId) {
+        requests.increment();
+        Map<String, Pending> full = null;
+        CompletableFuture<List<ReviewModel>> future;
+
+        synchronized (lock) {
+            Pending existing = pending.get(bookId);
+            if (existing != null) {
+                return existing.future();
+            }
+            if (pending.isEmpty()) {
+                long scheduledGeneration = generation;
+                timer.schedule(() -> flush(scheduledGeneration), windowMillis, TimeUnit.MILLISECONDS);
+            }
+
+            Pending request = new Pending(new CompletableFuture<>(), System.nanoTime());
+            pending.put(bookId, request);
+            future = request.future();
+
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+                generation++;
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    // The generation check stops a timer armed for a batch that already went out (because it filled up) from cutting the next window short.
+    private void flush(long expectedGeneration) {
+        Map<String, Pending> batch;
+        synchronized (lock) {
+            if (generation != expectedGeneration || pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            generation++;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<String, Pending> batch) {
+        long now = System.nanoTime();
+        for (Pending request : batch.values()) {
+            waitTimer.record(now - request.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+        batchSize.record(batch.size());
+        calls.increment();
+
+        try {
+            dispatcher.execute(() -> call(batch));
+        } catch (RejectedExecutionException ex) {
+            batch.values().forEach(request -> request.future().completeExceptionally(ex));
+        }
+    }
+
+    private void call(Map<String, Pending> batch) {
+        try {
+            Map<String, List<ReviewModel>> reviews = reviewsBatchFeignClient.getReviewsForBooks(new ArrayList<>(batch.keySet()));
+            batch.forEach((bookId, request) ->
+                    request.future().complete(reviews == null ? List.of() : reviews.getOrDefault(bookId, List.of())));
+        } catch (RuntimeException ex) {
+            log.warn("Batch review lookup for {} books failed: {}", batch.size(), ex.toString());
+            batch.values().forEach(request -> request.future().completeExceptionally(ex));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+}
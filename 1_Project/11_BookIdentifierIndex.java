@@ -0,0 +1,54 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory bookIdentifier to id map, loaded once at startup and updated by
+ * {@link CatalogService} on create/update/delete. Entries are only a hint:
+ * callers check the loaded book still carries the identifier, so a stale
+ * entry (e.g. a delete made by another instance) costs one extra query.
+ */
+@Component
+@Slf4j
+public class BookIdentifierIndex {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final ConcurrentMap<String, Long> ids = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        for (Object[] row : bookRepository.findAllIdentifiers()) {
+            if (row[1] != null) {
+                ids.putIfAbsent((String) row[1], (Long) row[0]);
+            }
+        }
+        log.info("Loaded {} book identifiers", ids.size());
+    }
+
+    public Optional<Long> resolve(String bookIdentifier) {
+        return Optional.ofNullable(ids.get(bookIdentifier));
+    }
+
+    public void put(String bookIdentifier, Long id) {
+        if (bookIdentifier != null && id != null) {
+            ids.put(bookIdentifier, id);
+        }
+    }
+
+    public void remove(String bookIdentifier, Long id) {
+        if (bookIdentifier != null) {
+            ids.remove(bookIdentifier, id);
+        }
+    }
+}
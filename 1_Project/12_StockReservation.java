@@ -0,0 +1,8 @@
+package com.tenex.catalogue.service;
+
+/**
+ * One line of a multi-book reservation: take {@code quantity} units of the
+ * book identified by {@code bookId} (bookIdentifier or numeric id).
+ */
+public record StockReservation(String bookId, int quantity) {
+}
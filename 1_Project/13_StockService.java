@@ -0,0 +1,120 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stock reservations as single conditional UPDATEs: the row is locked only for
+ * the statement itself, and a reservation that would take stock below zero
+ * updates nothing instead of losing a concurrent write. With the optional
+ * {@link StockEngine} the same checks run against in-memory counters instead,
+ * outside any database transaction.
+ */
+@Service
+@Slf4j
+public class StockService {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    // Present only with catalogue.stock.engine.enabled=true; reservations then never touch the database directly.
+    @Autowired(required = false)
+    private StockEngine stockEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void reserve(String bookId, int quantity) {
+        checkQuantity(quantity);
+        Long id = resolveId(bookId);
+        if (stockEngine != null) {
+            reserveInEngine(id, bookId, quantity);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> reserveInDatabase(id, bookId, quantity));
+    }
+
+    /**
+     * Reserves every line or none. Lines for the same book are merged, and rows
+     * are updated in id order so two overlapping batches cannot deadlock.
+     */
+    public void reserveAll(List<StockReservation> reservations) {
+        if (reservations == null || reservations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one reservation is required");
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        Map<Long, String> keys = new TreeMap<>();
+        for (StockReservation reservation : reservations) {
+            checkQuantity(reservation.quantity());
+            Long id = resolveId(reservation.bookId());
+            quantities.merge(id, reservation.quantity(), Math::addExact);
+            keys.putIfAbsent(id, reservation.bookId());
+        }
+
+        if (stockEngine == null) {
+            transactionTemplate.executeWithoutResult(status ->
+                    quantities.forEach((id, quantity) -> reserveInDatabase(id, keys.get(id), quantity)));
+            return;
+        }
+
+        List<Map.Entry<Long, Integer>> reserved = new ArrayList<>();
+        try {
+            for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+                reserveInEngine(line.getKey(), keys.get(line.getKey()), line.getValue());
+                reserved.add(line);
+            }
+        } catch (RuntimeException ex) {
+            reserved.forEach(line -> stockEngine.release(line.getKey(), line.getValue()));
+            throw ex;
+        }
+    }
+
+    private void reserveInEngine(Long id, String bookId, int quantity) {
+        if (!stockEngine.reserve(id, quantity)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for book " + bookId);
+        }
+    }
+
+    private void reserveInDatabase(Long id, String bookId, int quantity) {
+        if (bookRepository.reserveStock(id, quantity) == 0) {
+            if (!bookRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Book " + bookId + " not found");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for book " + bookId);
+        }
+    }
+
+    private Long resolveId(String bookId) {
+        return catalogService.resolveId(bookId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Book " + bookId + " not found"));
+    }
+
+    private static void checkQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.repository.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock for flash sales, enabled with
+ * {@code catalogue.stock.engine.enabled=true}.
+ *
+ * - Each book's available stock is an {@link AtomicLong} decremented by CAS and
+ *   never taken below zero, so reservations on different books never contend
+ *   and reservations on one book never block.
+ * - Accepted reservations are buffered and a single writer thread appends and
+ *   forces them to the journal as a group; each reservation is acknowledged
+ *   once the fsync covering it has returned (group commit).
+ * - Net deltas per book are written to {@code books.stock} in one transaction
+ *   every flush interval, together with the last journal segment they cover
+ *   ({@code stock_engine_checkpoint}); the covered segments are then deleted.
+ * - On startup, segments newer than the checkpoint are replayed into the
+ *   database before any counter is loaded, so a crash between commit and
+ *   segment delete never applies a flush twice.
+ *
+ * The counters are only correct if this instance is the sole writer of
+ * {@code books.stock}. The engine therefore holds a Postgres advisory lock on
+ * a dedicated connection for its whole lifetime: a second instance fails to
+ * start, and an instance that loses the lock stops taking reservations. A
+ * flush that would take stock below zero fails loudly instead of clamping.
+ *
+ * Stock set through {@code PUT /books/{id}} evicts the counter; reservations
+ * not yet flushed are still subtracted from the new value.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "catalogue.stock.engine.enabled", havingValue = "true")
+public class StockEngine {
+
+    private static final String SEGMENT_PREFIX = "stock-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String OWNER_LOCK = "catalogue.stock.engine";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalogue.stock.engine.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${catalogue.stock.engine.journal-dir:stock-journal}")
+    private String journalDir;
+
+    private final ConcurrentMap<Long, AtomicLong> available = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+
+    private record Entry(long id, AtomicLong counter, long delta) {
+    }
+
+    // Guards buffer, group, pending and inFlight, and counter eviction.
+    private final Object journalLock = new Object();
+    private List<Entry> buffer = new ArrayList<>();
+    private CompletableFuture<Void> group = new CompletableFuture<>();
+    private Map<Long, Long> pending = new HashMap<>();
+    private boolean running = true;
+
+    // Guards journal and segment: held by the writer for a group write and by a flush while it rotates segments.
+    private final Object writeLock = new Object();
+    private FileChannel journal;
+    private long segment;
+
+    // Deltas drained from pending but not yet committed; counted when a counter is (re)loaded.
+    private volatile Map<Long, Long> inFlight = Map.of();
+
+    private Thread writer;
+    private Connection ownerConnection;
+    private volatile boolean owner;
+    private TransactionTemplate transactionTemplate;
+    private Path directory;
+    private Counter groupWrites;
+    private Counter oversells;
+
+    @PostConstruct
+    void init() throws IOException, SQLException {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        groupWrites = meterRegistry.counter("catalogue.stock.engine.journal.writes");
+        oversells = meterRegistry.counter("catalogue.stock.engine.oversell");
+        acquireOwnership();
+
+        directory = Path.of(journalDir);
+        Files.createDirectories(directory);
+
+        long checkpoint = checkpoint();
+        List<Path> segments = segments();
+        if (!segments.isEmpty()) {
+            recover(segments, checkpoint);
+            segment = segmentNumber(segments.get(segments.size() - 1)) + 1;
+        }
+        // Never reuse a number the checkpoint already covers, or a new segment would be skipped on recovery.
+        segment = Math.max(segment, checkpoint + 1);
+        journal = open(segment);
+
+        writer = Thread.ofPlatform().name("stock-journal-writer").daemon().start(this::writeLoop);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes {@code quantity} units of book {@code id}; false when there are not
+     * enough left. Durable once this returns true.
+     */
+    public boolean reserve(long id, int quantity) {
+        checkOwner();
+        while (true) {
+            AtomicLong counter = counter(id);
+            long current;
+            do {
+                current = counter.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!counter.compareAndSet(current, current - quantity));
+
+            CompletableFuture<Void> written = journal(id, counter, quantity);
+            if (written != null) {
+                await(written);
+                return true;
+            }
+            // The counter was evicted between the CAS and the journal append; retry on the reloaded one.
+            counter.addAndGet(quantity);
+        }
+    }
+
+    /** Gives back units taken by {@link #reserve}, e.g. when a multi-book reservation fails part way. */
+    public void release(long id, int quantity) {
+        while (true) {
+            AtomicLong counter = counter(id);
+            counter.addAndGet(quantity);
+            CompletableFuture<Void> written = journal(id, counter, -quantity);
+            if (written != null) {
+                await(written);
+                return;
+            }
+            counter.addAndGet(-quantity);
+        }
+    }
+
+    public OptionalLong available(long id) {
+        AtomicLong counter = available.get(id);
+        return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.get());
+    }
+
+    public void evict(long id) {
+        synchronized (journalLock) {
+            available.remove(id);
+        }
+    }
+
+    // Queues the entry for the next group write; null when the counter is no longer the live one.
+    private CompletableFuture<Void> journal(long id, AtomicLong counter, long delta) {
+        synchronized (journalLock) {
+            if (!running) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stock engine is shutting down");
+            }
+            if (available.get(id) != counter) {
+                return null;
+            }
+            buffer.add(new Entry(id, counter, delta));
+            pending.merge(id, delta, Long::sum);
+            journalLock.notifyAll();
+            return group;
+        }
+    }
+
+    private static void await(CompletableFuture<Void> written) {
+        try {
+            written.join();
+        } catch (CompletionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stock journal unavailable");
+        }
+    }
+
+    // Entries that arrive while a group is being forced form the next group, so one fsync covers many reservations.
+    private void writeLoop() {
+        while (true) {
+            synchronized (journalLock) {
+                while (buffer.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    try {
+                        journalLock.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            synchronized (writeLock) {
+                writeGroup();
+            }
+        }
+    }
+
+    // Caller holds writeLock.
+    private void writeGroup() {
+        List<Entry> entries;
+        CompletableFuture<Void> done;
+        synchronized (journalLock) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            entries = buffer;
+            done = group;
+            buffer = new ArrayList<>();
+            group = new CompletableFuture<>();
+        }
+
+        StringBuilder lines = new StringBuilder(entries.size() * 16);
+        for (Entry entry : entries) {
+            lines.append(entry.id()).append(',').append(entry.delta()).append('\n');
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.US_ASCII));
+            while (bytes.hasRemaining()) {
+                journal.write(bytes);
+            }
+            journal.force(false);
+        } catch (IOException ex) {
+            log.error("Stock journal write failed", ex);
+            synchronized (journalLock) {
+                for (Entry entry : entries) {
+                    entry.counter().addAndGet(entry.delta());
+                    pending.merge(entry.id(), -entry.delta(), Long::sum);
+                }
+            }
+            done.completeExceptionally(ex);
+            return;
+        }
+        groupWrites.increment();
+        done.complete(null);
+    }
+
+    private AtomicLong counter(long id) {
+        AtomicLong counter = available.get(id);
+        if (counter != null) {
+            return counter;
+        }
+
+        // Read unflushed deltas before the row: anything committed in between is then counted twice (under-sells) rather than not at all.
+        long unflushed;
+        synchronized (journalLock) {
+            unflushed = pending.getOrDefault(id, 0L) + inFlight.getOrDefault(id, 0L);
+        }
+        Integer stock = bookRepository.findStockById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Book " + id + " not found"));
+        return available.computeIfAbsent(id, key -> new AtomicLong(Math.max(0, stock - unflushed)));
+    }
+
+    void flush() throws IOException {
+        if (!verifyOwnership()) {
+            throw new IllegalStateException("Stock engine lost ownership of books.stock; not flushing");
+        }
+
+        TreeMap<Long, Long> deltas;
+        long lastCoveredSegment;
+        synchronized (writeLock) {
+            synchronized (journalLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                deltas = new TreeMap<>(pending);
+                pending = new HashMap<>();
+                // Still buffered, so they will land in the next segment: leave them for the next flush.
+                for (Entry entry : buffer) {
+                    deltas.merge(entry.id(), -entry.delta(), Long::sum);
+                    pending.merge(entry.id(), entry.delta(), Long::sum);
+                }
+                deltas.values().removeIf(delta -> delta == 0);
+                inFlight = deltas;
+            }
+
+            journal.close();
+            lastCoveredSegment = segment++;
+            journal = open(segment);
+        }
+
+        try {
+            apply(deltas, lastCoveredSegment);
+        } catch (RuntimeException ex) {
+            synchronized (journalLock) {
+                deltas.forEach((id, delta) -> pending.merge(id, delta, Long::sum));
+                inFlight = Map.of();
+            }
+            throw ex;
+        }
+        inFlight = Map.of();
+
+        for (Path path : segments()) {
+            if (segmentNumber(path) <= lastCoveredSegment) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.warn("Stock flush failed, will retry: {}", ex.toString());
+        }
+    }
+
+    // Rows are updated in id order, like StockService, so a flush cannot deadlock with a batch reservation.
+    private void apply(TreeMap<Long, Long> deltas, long lastSegment) {
+        transactionTemplate.executeWithoutResult(status -> {
+            deltas.forEach((id, delta) -> {
+                if (bookRepository.applyStockDelta(id, Math.toIntExact(delta)) == 0 && bookRepository.existsById(id)) {
+                    // Only possible if something else wrote books.stock; roll back rather than hide it.
+                    oversells.increment();
+                    log.error("Stock for book {} is below the journaled delta {}: oversold, flush aborted", id, delta);
+                    throw new IllegalStateException("Stock for book " + id + " would go negative");
+                }
+            });
+            jdbcTemplate.update("UPDATE stock_engine_checkpoint SET last_segment = ? WHERE id = 1", lastSegment);
+        });
+    }
+
+    private long checkpoint() {
+        Long lastSegment = jdbcTemplate.queryForObject("SELECT last_segment FROM stock_engine_checkpoint WHERE id = 1", Long.class);
+        return lastSegment != null ? lastSegment : -1;
+    }
+
+    private void recover(List<Path> segments, long checkpoint) throws IOException {
+        TreeMap<Long, Long> deltas = new TreeMap<>();
+        int replayed = 0;
+        for (Path path : segments) {
+            if (segmentNumber(path) <= checkpoint) {
+                // Committed by a flush whose segment delete did not happen.
+                continue;
+            }
+            replayed++;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comma = line.indexOf(',');
+                    try {
+                        deltas.merge(Long.parseLong(line.substring(0, comma)), Long.parseLong(line.substring(comma + 1)), Long::sum);
+                    } catch (RuntimeException ex) {
+                        // A torn last line: the write never completed, so the reservation was never acknowledged.
+                        log.warn("Skipping unreadable stock journal line in {}: {}", path, line);
+                    }
+                }
+            }
+        }
+
+        deltas.values().removeIf(delta -> delta == 0);
+        apply(deltas, segmentNumber(segments.get(segments.size() - 1)));
+        for (Path path : segments) {
+            Files.delete(path);
+        }
+        log.info("Replayed stock journal for {} books from {} segments", deltas.size(), replayed);
+    }
+
+    // Session-level lock on a connection kept out of the pool, released when the connection closes.
+    private void acquireOwnership() throws SQLException {
+        ownerConnection = dataSource.getConnection();
+        if (!tryLock()) {
+            ownerConnection.close();
+            throw new IllegalStateException("Another instance owns the stock engine (advisory lock " + OWNER_LOCK + ")");
+        }
+        owner = true;
+    }
+
+    // Re-entrant: taking the lock again and releasing it leaves the original hold in place.
+    private boolean verifyOwnership() {
+        if (!owner) {
+            return false;
+        }
+        try {
+            if (tryLock()) {
+                try (PreparedStatement statement = ownerConnection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+                    statement.setString(1, OWNER_LOCK);
+                    statement.execute();
+                }
+                return true;
+            }
+        } catch (SQLException ex) {
+            log.error("Stock engine ownership check failed", ex);
+        }
+        log.error("Stock engine lost its advisory lock; reservations are disabled");
+        owner = false;
+        return false;
+    }
+
+    private boolean tryLock() throws SQLException {
+        try (PreparedStatement statement = ownerConnection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            statement.setString(1, OWNER_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void checkOwner() {
+        if (!owner) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stock engine is not the owner of books.stock");
+        }
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(StockEngine::segmentNumber));
+        return segments;
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, SQLException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+            synchronized (journalLock) {
+                running = false;
+                journalLock.notifyAll();
+            }
+            writer.join(5000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        synchronized (writeLock) {
+            journal.close();
+        }
+        ownerConnection.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.tenex.catalogue.repository;
+
+/**
+ * Criteria for {@link BookRepositoryCustom#search}. Null criteria are not
+ * applied. {@code afterValue}/{@code afterId} are the sort key and id of the
+ * last row of the previous page; both null for the first page. A null
+ * {@code afterValue} with an {@code afterId} means that row had no sort key.
+ * Rows without one sort last in either direction.
+ */
+public record BookSearch(String text, String titlePrefix, String authorPrefix, Double minPrice, Double maxPrice,
+                         Sort sort, boolean descending, Object afterValue, Long afterId, int limit) {
+
+    public enum Sort {
+        ID("id"), TITLE("title"), PRICE("price");
+
+        final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.tenex.catalogue.repository;
+
+import com.tenex.catalogue.model.Book;
+
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    List<Book> search(BookSearch search);
+
+    /** Books containing every term, the last one as a prefix, in id order. Terms must be letters and digits only. */
+    List<Book> suggest(String[] terms, int limit);
+}
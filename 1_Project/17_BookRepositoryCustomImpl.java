@@ -0,0 +1,98 @@
+package com.tenex.catalogue.repository;
+
+import com.tenex.catalogue.model.Book;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    static final RowMapper<Book> ROW_MAPPER = (rs, rowNum) -> new Book(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("author"),
+            rs.getObject("price", Double.class),
+            rs.getObject("stock", Integer.class),
+            rs.getString("book_identifier"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Each predicate matches an index from V3__Book_Search_Indexes.sql.
+    @Override
+    public List<Book> search(BookSearch search) {
+        StringBuilder sql = new StringBuilder("SELECT id, title, author, price, stock, book_identifier FROM books WHERE true");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", search.limit());
+
+        if (search.text() != null) {
+            sql.append(" AND to_tsvector('simple', title || ' ' || author) @@ plainto_tsquery('simple', :text)");
+            params.addValue("text", search.text());
+        }
+        if (search.titlePrefix() != null) {
+            sql.append(" AND lower(title) LIKE :titlePrefix");
+            params.addValue("titlePrefix", prefixPattern(search.titlePrefix()));
+        }
+        if (search.authorPrefix() != null) {
+            sql.append(" AND lower(author) LIKE :authorPrefix");
+            params.addValue("authorPrefix", prefixPattern(search.authorPrefix()));
+        }
+        if (search.minPrice() != null) {
+            sql.append(" AND price >= :minPrice");
+            params.addValue("minPrice", search.minPrice());
+        }
+        if (search.maxPrice() != null) {
+            sql.append(" AND price <= :maxPrice");
+            params.addValue("maxPrice", search.maxPrice());
+        }
+
+        String column = search.sort().column;
+        String comparison = search.descending() ? " < " : " > ";
+        String direction = search.descending() ? " DESC" : "";
+        if (search.afterId() != null) {
+            if (search.sort() == BookSearch.Sort.ID) {
+                sql.append(" AND id").append(comparison).append(":afterId");
+            } else if (search.afterValue() == null) {
+                // The previous page ended among the NULLs, which sort last in both directions.
+                sql.append(" AND ").append(column).append(" IS NULL AND id").append(comparison).append(":afterId");
+            } else {
+                // Row comparison so the (column, id) index serves both the filter and the order; NULLs still follow.
+                sql.append(" AND ((").append(column).append(", id)").append(comparison).append("(:afterValue, :afterId)")
+                        .append(" OR ").append(column).append(" IS NULL)");
+                params.addValue("afterValue", search.afterValue());
+            }
+            params.addValue("afterId", search.afterId());
+        }
+
+        if (search.sort() == BookSearch.Sort.ID) {
+            sql.append(" ORDER BY id").append(direction);
+        } else {
+            sql.append(" ORDER BY ").append(column).append(direction).append(" NULLS LAST, id").append(direction);
+        }
+        sql.append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    // Same expression as the full-text index; only used when the in-memory index cannot answer.
+    @Override
+    public List<Book> suggest(String[] terms, int limit) {
+        String query = String.join(" & ", terms) + ":*";
+        return jdbcTemplate.query("""
+                SELECT id, title, author, price, stock, book_identifier FROM books
+                WHERE to_tsvector('simple', title || ' ' || author) @@ to_tsquery('simple', :query)
+                ORDER BY id
+                LIMIT :limit""", new MapSqlParameterSource("query", query).addValue("limit", limit), ROW_MAPPER);
+    }
+
+    private static String prefixPattern(String prefix) {
+        String escaped = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
@@ -0,0 +1,210 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.model.Book;
+import com.tenex.catalogue.model.BookSummary;
+import com.tenex.catalogue.repository.BookRepository;
+import com.tenex.catalogue.repository.BookSearch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Backs {@code GET /books/search} and {@code GET /books/summary}. Pages are
+ * keyset based: the cursor carries the sort key and id of the last book
+ * returned, so deep pages cost the same as the first. Query time is published
+ * as {@code catalogue.books.search} tagged with the sort order.
+ */
+@Service
+public class BookSearchService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String ID_SORT = "id";
+    // Postgres text cannot hold NUL, so this never collides with a real title.
+    private static final String NULL_VALUE = "\u0000";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired(required = false)
+    private BookSearchIndex bookSearchIndex;
+
+    @Value("${catalogue.search.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${catalogue.search.max-limit:500}")
+    private int maxLimit;
+
+    /** One page of results; {@code nextCursor} is null on the last page. */
+    public record Page(List<Book> books, String nextCursor) {
+    }
+
+    /** One page of {@link BookSummary}; {@code nextCursor} is null on the last page. */
+    public record SummaryPage(List<BookSummary> books, String nextCursor) {
+    }
+
+    public Page search(String text, String title, String author, Double minPrice, Double maxPrice,
+                       String sort, String cursor, Integer limit) {
+        boolean descending = sort.startsWith("-");
+        BookSearch.Sort order = parseSort(descending ? sort.substring(1) : sort);
+        int pageSize = pageSize(limit);
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] parts = decode(cursor);
+            if (!parts[0].equals(sort)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor was issued for a different sort");
+            }
+            afterId = parseLong(parts[1]);
+            if (!parts[2].equals(NULL_VALUE)) {
+                afterValue = order == BookSearch.Sort.PRICE ? parseDouble(parts[2]) : parts[2];
+            }
+        }
+
+        // One extra row tells us whether there is a next page without a COUNT query.
+        BookSearch search = new BookSearch(blankToNull(text), blankToNull(title), blankToNull(author), minPrice, maxPrice,
+                order, descending, afterValue, afterId, pageSize + 1);
+        Timer timer = Timer.builder("catalogue.books.search")
+                .tag("sort", order.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        List<Book> books = timer.record(() -> bookRepository.search(search));
+
+        if (books.size() <= pageSize) {
+            return new Page(books, null);
+        }
+        List<Book> page = books.subList(0, pageSize);
+        return new Page(page, encode(sort, order, page.get(pageSize - 1)));
+    }
+
+    /**
+     * Summaries in id order. The cursor has the same format as an id-sorted
+     * search; {@code after}, a raw id, is still accepted for older clients.
+     */
+    public SummaryPage summaries(String cursor, Long after, Integer limit) {
+        int pageSize = pageSize(limit);
+        long afterId = after != null ? after : 0L;
+        if (cursor != null) {
+            String[] parts = decode(cursor);
+            if (!parts[0].equals(ID_SORT)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor was issued for a different sort");
+            }
+            afterId = parseLong(parts[1]);
+        }
+
+        List<BookSummary> books = catalogService.getBookSummaries(afterId, pageSize + 1);
+        if (books.size() <= pageSize) {
+            return new SummaryPage(books, null);
+        }
+        List<BookSummary> page = books.subList(0, pageSize);
+        return new SummaryPage(page, encode(ID_SORT, page.get(pageSize - 1).id(), ""));
+    }
+
+    /**
+     * Typeahead from the in-memory {@link BookSearchIndex}: books matching every
+     * term of {@code q}, the last one as a prefix, in id order. Answered from
+     * SQL once the index has had to leave a book out.
+     */
+    public List<Book> suggest(String q, Integer limit) {
+        if (bookSearchIndex == null || !bookSearchIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is not available");
+        }
+        if (!bookSearchIndex.isComplete()) {
+            String[] terms = BookSearchIndex.tokenize(q);
+            if (terms.length == 0) {
+                return List.of();
+            }
+            Timer timer = Timer.builder("catalogue.books.search").tag("sort", "index-fallback").register(meterRegistry);
+            return timer.record(() -> bookRepository.suggest(terms, pageSize(limit)));
+        }
+
+        Timer timer = Timer.builder("catalogue.books.search").tag("sort", "index").register(meterRegistry);
+        List<Long> ids = timer.record(() -> bookSearchIndex.search(q, pageSize(limit)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Book> books = bookRepository.findAllById(ids);
+        books.sort(Comparator.comparing(Book::getId));
+        return books;
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private static BookSearch.Sort parseSort(String sort) {
+        try {
+            return BookSearch.Sort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        }
+    }
+
+    private static String encode(String sort, BookSearch.Sort order, Book last) {
+        String value = switch (order) {
+            case ID -> "";
+            case TITLE -> last.getTitle() == null ? NULL_VALUE : last.getTitle();
+            case PRICE -> last.getPrice() == null ? NULL_VALUE : String.valueOf(last.getPrice());
+        };
+        return encode(sort, last.getId(), value);
+    }
+
+    // Cursor layout: sort, id and sort key separated by newlines, base64url encoded.
+    private static String encode(String sort, long id, String value) {
+        return ENCODER.encodeToString((sort + "\n" + id + "\n" + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+            if (parts.length == 3) {
+                return parts;
+            }
+        } catch (IllegalArgumentException ex) {
+            // fall through
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
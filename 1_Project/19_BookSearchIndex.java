@@ -0,0 +1,590 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.model.Book;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book title and author, enabled with
+ * {@code catalogue.search.index.enabled=true}.
+ *
+ * - Terms are lower-cased letter/digit runs. Each term maps to a sorted
+ *   {@code int[]} of book ids; the term dictionary is sorted, so a prefix is a
+ *   range scan whose posting lists are merged lazily, in id order, only as far
+ *   as the limit needs.
+ * - {@link CatalogService} keeps it in sync on create/update/delete. Appends
+ *   (the usual case, ids only grow) are amortised O(1); other changes copy the
+ *   affected posting lists.
+ * - It is rebuilt at startup from id ranges read in parallel. Changes made
+ *   while a rebuild runs are replayed on top of the result.
+ *
+ * Posting lists hold {@code int} ids. A book whose id does not fit is left out
+ * and the index reports itself incomplete from then on, so suggestions are
+ * answered from SQL instead of missing that book.
+ *
+ * Only writes made through this instance's {@link CatalogService} reach the
+ * index. With several instances, or writes that bypass the service (direct
+ * SQL, imports), set {@code catalogue.search.index.refresh-ms} so the index
+ * is rebuilt periodically; suggestions are then stale for at most that long.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "catalogue.search.index.enabled", havingValue = "true")
+public class BookSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${catalogue.search.index.rebuild-threads:8}")
+    private int rebuildThreads;
+
+    @Value("${catalogue.search.index.rebuild-chunk:250000}")
+    private int rebuildChunk;
+
+    // 0 keeps the single-writer behaviour: no periodic rebuild.
+    @Value("${catalogue.search.index.refresh-ms:0}")
+    private long refreshMillis;
+
+    private volatile Index index = new Index();
+    private volatile boolean ready;
+    // Set once a book id above Integer.MAX_VALUE is seen; such books are never indexed.
+    private volatile boolean incomplete;
+
+    // While a rebuild runs, changes are applied to the live index and also remembered here.
+    private final Object rebuildLock = new Object();
+    private List<Change> changesDuringRebuild;
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        if (refreshMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        Index rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException ex) {
+            synchronized (rebuildLock) {
+                changesDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (rebuildLock) {
+            changesDuringRebuild.forEach(change -> change.run(rebuilt));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        }
+        ready = true;
+        log.info("Indexed {} books ({} terms) in {} ms", rebuilt.terms.size(), rebuilt.dictionary.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void refreshQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Search index refresh failed, keeping the current index: {}", ex.toString());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** False once a book could not be indexed because its id is too large. */
+    public boolean isComplete() {
+        return !incomplete;
+    }
+
+    // Called after the write has committed, so an id the index cannot hold is skipped rather than thrown.
+    public void put(Book book) {
+        if (!fits(book.getId())) {
+            return;
+        }
+        int id = book.getId().intValue();
+        String[] terms = terms(book.getTitle(), book.getAuthor());
+        change(target -> target.put(id, terms));
+    }
+
+    public void remove(Long bookId) {
+        if (!fits(bookId)) {
+            return;
+        }
+        int id = bookId.intValue();
+        change(target -> target.remove(id));
+    }
+
+    /**
+     * Ids of books containing every term of {@code query}, the last term
+     * matched as a prefix, in ascending id order.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+
+        Index current = index;
+        List<IdCursor> cursors = new ArrayList<>(terms.length);
+        for (int i = 0; i < terms.length; i++) {
+            IdCursor cursor = i == terms.length - 1 ? current.prefix(terms[i]) : current.exact(terms[i]);
+            if (cursor == null) {
+                return List.of();
+            }
+            cursors.add(cursor);
+        }
+        return intersect(cursors, limit);
+    }
+
+    private void change(Change change) {
+        synchronized (rebuildLock) {
+            change.run(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private boolean fits(long id) {
+        if (id <= Integer.MAX_VALUE) {
+            return true;
+        }
+        if (!incomplete) {
+            log.warn("Book id {} does not fit the search index; suggestions fall back to SQL", id);
+            incomplete = true;
+        }
+        return false;
+    }
+
+    private Index load() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM books", Long.class);
+        Index rebuilt = new Index();
+        if (maxId == null) {
+            return rebuilt;
+        }
+        if (!fits(maxId)) {
+            maxId = (long) Integer.MAX_VALUE;
+        }
+
+        // Chunks are read in parallel but merged in id order, so every posting list comes out sorted.
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+            for (long from = 0; from <= maxId; from += rebuildChunk) {
+                long lower = from;
+                long upper = Math.min(maxId, from + rebuildChunk - 1);
+                chunks.add(CompletableFuture.supplyAsync(() -> loadChunk(lower, upper), executor));
+            }
+            for (CompletableFuture<Chunk> chunk : chunks) {
+                chunk.join().mergeInto(rebuilt);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return rebuilt;
+    }
+
+    private Chunk loadChunk(long lower, long upper) {
+        Chunk chunk = new Chunk();
+        jdbcTemplate.query("SELECT id, title, author FROM books WHERE id BETWEEN ? AND ? ORDER BY id",
+                rs -> {
+                    chunk.add((int) rs.getLong(1), terms(rs.getString(2), rs.getString(3)));
+                }, lower, upper);
+        return chunk;
+    }
+
+    private static String[] terms(String title, String author) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(Arrays.asList(tokenize(title)));
+        terms.addAll(Arrays.asList(tokenize(author)));
+        return terms.toArray(String[]::new);
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // Leapfrog join: every cursor seeks to the current candidate; any that lands past it proposes the next candidate.
+    private static List<Long> intersect(List<IdCursor> cursors, int limit) {
+        cursors.sort(Comparator.comparingLong(IdCursor::cost));
+        List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+        int candidate = 0;
+
+        candidates:
+        while (ids.size() < limit) {
+            for (IdCursor cursor : cursors) {
+                int id = cursor.seek(candidate);
+                if (id < 0) {
+                    break candidates;
+                }
+                if (id != candidate) {
+                    candidate = id;
+                    continue candidates;
+                }
+            }
+            ids.add((long) candidate);
+            if (candidate == Integer.MAX_VALUE) {
+                break;
+            }
+            candidate++;
+        }
+        return ids;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private interface Change {
+        void run(Index target);
+    }
+
+    // Ascending ids with forward-only seeks.
+    private interface IdCursor {
+
+        /** First id at or after {@code target}, or -1 when there is none. */
+        int seek(int target);
+
+        long cost();
+    }
+
+    // The first size entries of ids, sorted ascending. Never modified once published.
+    private record Ids(int[] ids, int size) {
+    }
+
+    private static final class ListCursor implements IdCursor, Comparable<ListCursor> {
+        private final int[] ids;
+        private final int size;
+        private int position;
+
+        ListCursor(Ids ids) {
+            this.ids = ids.ids();
+            this.size = ids.size();
+        }
+
+        @Override
+        public int seek(int target) {
+            if (position < size && ids[position] < target) {
+                int found = Arrays.binarySearch(ids, position, size, target);
+                position = found >= 0 ? found : -found - 1;
+            }
+            return head();
+        }
+
+        int head() {
+            return position < size ? ids[position] : -1;
+        }
+
+        @Override
+        public long cost() {
+            return size;
+        }
+
+        @Override
+        public int compareTo(ListCursor other) {
+            return Integer.compare(head(), other.head());
+        }
+    }
+
+    // Lazy k-way merge of every posting list under a prefix: only lists whose head is behind the target move.
+    private static final class UnionCursor implements IdCursor {
+        private final PriorityQueue<ListCursor> heads;
+        private final long cost;
+
+        UnionCursor(List<ListCursor> lists) {
+            heads = new PriorityQueue<>(lists);
+            cost = lists.stream().mapToLong(ListCursor::cost).sum();
+        }
+
+        @Override
+        public int seek(int target) {
+            while (!heads.isEmpty() && heads.peek().head() < target) {
+                ListCursor behind = heads.poll();
+                if (behind.seek(target) >= 0) {
+                    heads.add(behind);
+                }
+            }
+            return heads.isEmpty() ? -1 : heads.peek().head();
+        }
+
+        @Override
+        public long cost() {
+            return cost;
+        }
+    }
+
+    private static final class Index {
+        final NavigableMap<String, Postings> dictionary = new ConcurrentSkipListMap<>();
+        // Writers only (under rebuildLock, or the rebuild thread before publication).
+        final List<Postings> byOrdinal = new ArrayList<>();
+        final TermsById terms = new TermsById();
+
+        void put(int id, String[] newTerms) {
+            remove(id);
+            int[] ordinals = new int[newTerms.length];
+            for (int i = 0; i < newTerms.length; i++) {
+                Postings postings = postings(newTerms[i]);
+                postings.add(id);
+                ordinals[i] = postings.ordinal;
+            }
+            terms.put(id, ordinals);
+        }
+
+        void remove(int id) {
+            int[] oldTerms = terms.remove(id);
+            if (oldTerms == null) {
+                return;
+            }
+            for (int ordinal : oldTerms) {
+                byOrdinal.get(ordinal).remove(id);
+            }
+        }
+
+        Postings postings(String term) {
+            Postings postings = dictionary.get(term);
+            if (postings == null) {
+                postings = new Postings(byOrdinal.size());
+                byOrdinal.add(postings);
+                dictionary.put(term, postings);
+            }
+            return postings;
+        }
+
+        IdCursor exact(String term) {
+            Postings postings = dictionary.get(term);
+            Ids ids = postings == null ? null : postings.current;
+            return ids == null || ids.size() == 0 ? null : new ListCursor(ids);
+        }
+
+        IdCursor prefix(String prefix) {
+            List<ListCursor> lists = new ArrayList<>();
+            for (Postings postings : dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                Ids ids = postings.current;
+                if (ids.size() > 0) {
+                    lists.add(new ListCursor(ids));
+                }
+            }
+            if (lists.size() <= 1) {
+                return lists.isEmpty() ? null : lists.get(0);
+            }
+            return new UnionCursor(lists);
+        }
+    }
+
+    /**
+     * Sorted ids for one term. Readers take the array and length together from
+     * {@link #current}; appends write past the published length before
+     * republishing, so a reader never sees a half-written list.
+     */
+    private static final class Postings {
+        final int ordinal;
+        volatile Ids current = new Ids(new int[4], 0);
+
+        Postings(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        synchronized void add(int id) {
+            Ids snapshot = current;
+            int[] ids = snapshot.ids();
+            int size = snapshot.size();
+            if (size > 0 && ids[size - 1] >= id) {
+                int found = Arrays.binarySearch(ids, 0, size, id);
+                if (found >= 0) {
+                    return;
+                }
+                int insertAt = -found - 1;
+                int[] copy = new int[Math.max(ids.length, size + 1)];
+                System.arraycopy(ids, 0, copy, 0, insertAt);
+                copy[insertAt] = id;
+                System.arraycopy(ids, insertAt, copy, insertAt + 1, size - insertAt);
+                current = new Ids(copy, size + 1);
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            ids[size] = id;
+            current = new Ids(ids, size + 1);
+        }
+
+        synchronized void remove(int id) {
+            Ids snapshot = current;
+            int found = Arrays.binarySearch(snapshot.ids(), 0, snapshot.size(), id);
+            if (found < 0) {
+                return;
+            }
+            int[] copy = new int[snapshot.ids().length];
+            System.arraycopy(snapshot.ids(), 0, copy, 0, found);
+            System.arraycopy(snapshot.ids(), found + 1, copy, found, snapshot.size() - found - 1);
+            current = new Ids(copy, snapshot.size() - 1);
+        }
+
+        void addAll(int[] ids, int count) {
+            int[] merged = Arrays.copyOf(current.ids(), current.size() + count);
+            System.arraycopy(ids, 0, merged, current.size(), count);
+            current = new Ids(merged, merged.length);
+        }
+    }
+
+    /**
+     * Book id to the ordinals of its terms: open addressing over primitive
+     * arrays, so an entry costs two array slots instead of a boxed key, a map
+     * node and an array of strings. Writers only, like {@link Index#byOrdinal}.
+     */
+    private static final class TermsById {
+        private int[] keys = new int[16];
+        private int[][] values = new int[16][];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void put(int id, int[] ordinals) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize();
+            }
+            int slot = slot(id);
+            if (values[slot] == null) {
+                size++;
+            }
+            keys[slot] = id;
+            values[slot] = ordinals;
+        }
+
+        int[] remove(int id) {
+            int slot = slot(id);
+            int[] removed = values[slot];
+            if (removed == null) {
+                return null;
+            }
+
+            // Backward-shift deletion keeps every probe chain intact without tombstones.
+            int mask = keys.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            values[hole] = null;
+            size--;
+            return removed;
+        }
+
+        // Slot holding id, or the empty slot where it would go.
+        private int slot(int id) {
+            int mask = keys.length - 1;
+            int slot = hash(id) & mask;
+            while (values[slot] != null && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[][] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2][];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // Postings for one id range, built by a single rebuild thread.
+    private static final class Chunk {
+        final Map<String, int[]> postings = new HashMap<>();
+        final Map<String, Integer> sizes = new HashMap<>();
+        final List<String[]> docTerms = new ArrayList<>();
+        int[] docIds = new int[64];
+
+        void add(int id, String[] terms) {
+            if (docTerms.size() == docIds.length) {
+                docIds = Arrays.copyOf(docIds, docIds.length * 2);
+            }
+            docIds[docTerms.size()] = id;
+            docTerms.add(terms);
+            for (String term : terms) {
+                int size = sizes.getOrDefault(term, 0);
+                int[] ids = postings.get(term);
+                if (ids == null || size == ids.length) {
+                    ids = ids == null ? new int[4] : Arrays.copyOf(ids, size + (size >> 1) + 1);
+                    postings.put(term, ids);
+                }
+                ids[size] = id;
+                sizes.put(term, size + 1);
+            }
+        }
+
+        void mergeInto(Index index) {
+            postings.forEach((term, ids) -> index.postings(term).addAll(ids, sizes.get(term)));
+            for (int i = 0; i < docTerms.size(); i++) {
+                String[] terms = docTerms.get(i);
+                int[] ordinals = new int[terms.length];
+                for (int t = 0; t < terms.length; t++) {
+                    ordinals[t] = index.dictionary.get(terms[t]).ordinal;
+                }
+                index.terms.put(docIds[i], ordinals);
+            }
+        }
+    }
+}
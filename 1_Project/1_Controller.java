@@ -2,9 +2,15 @@ package com.tenex.catalogue.controller;
 
 
 import com.tenex.catalogue.model.Book;
+import com.tenex.catalogue.model.BookSummary;
+import com.tenex.catalogue.service.BookDetails;
+import com.tenex.catalogue.service.BookDetailsService;
+import com.tenex.catalogue.service.BookSearchService;
+import com.tenex.catalogue.service.CachingReviewsClient;
 import com.tenex.catalogue.service.CatalogService;
 import com.tenex.catalogue.service.ReviewModel;
-import com.tenex.catalogue.service.ReviewsServiceFeignClient;
+import com.tenex.catalogue.service.StockReservation;
+import com.tenex.catalogue.service.StockService;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -20,19 +26,80 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/books")
 public class catalogueController  {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @Autowired
     private CatalogService catalogService;
 
 
     @Autowired
-    private ReviewsServiceFeignClient reviewsServiceFeignClient;
+    private CachingReviewsClient cachingReviewsClient;
+
+    @Autowired
+    private BookDetailsService bookDetailsService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private BookSearchService bookSearchService;
 
 // ...
 
     @GetMapping("/{bookId}/reviews")
     public ResponseEntity<List<ReviewModel>> getReviewsForBook(@PathVariable String bookId) {
-        return reviewsServiceFeignClient.getReviewsForBook(bookId);
+        return ResponseEntity.ok(cachingReviewsClient.getReviewsForBook(bookId).join());
+    }
+
+    // Book and reviews are fetched in parallel; reviewsAvailable=false marks a partial response.
+    @GetMapping("/{bookId}/details")
+    public ResponseEntity<BookDetails> getBookDetails(@PathVariable String bookId) {
+        Optional<BookDetails> details = bookDetailsService.getBookDetails(bookId);
+        if (details.isPresent()) {
+            return ResponseEntity.ok(details.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+
+    // q is full-text over title and author; title/author match as case-insensitive prefixes.
+    // sort is id, title or price, prefixed with '-' for descending. The next page's cursor is in X-Next-Cursor.
+    @GetMapping("/search")
+    public ResponseEntity<List<Book>> searchBooks(@RequestParam(required = false) String q,
+                                                  @RequestParam(required = false) String title,
+                                                  @RequestParam(required = false) String author,
+                                                  @RequestParam(required = false) Double minPrice,
+                                                  @RequestParam(required = false) Double maxPrice,
+                                                  @RequestParam(defaultValue = "id") String sort,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        BookSearchService.Page page = bookSearchService.search(q, title, author, minPrice, maxPrice, sort, cursor, limit);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.books());
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.nextCursor()).body(page.books());
+    }
+
+    // Served from the in-memory index (catalogue.search.index.enabled=true); 503 while it is disabled or rebuilding,
+    // SQL once a book id is too large for it.
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Book>> suggestBooks(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookSearchService.suggest(q, limit));
+    }
+
+    // 409 when there is not enough stock; nothing is reserved in that case.
+    @PostMapping("/{bookId}/stock/reserve")
+    public ResponseEntity<Void> reserveStock(@PathVariable String bookId, @RequestParam(defaultValue = "1") int quantity) {
+        stockService.reserve(bookId, quantity);
+        return ResponseEntity.noContent().build();
+    }
+
+    // All-or-nothing: one line failing rolls back the whole reservation.
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<Void> reserveStock(@RequestBody List<StockReservation> reservations) {
+        stockService.reserveAll(reservations);
+        return ResponseEntity.noContent().build();
     }
 
 
@@ -48,6 +115,18 @@ public class catalogueController  {
         return ResponseEntity.ok(books);
     }
 
+    // Keyset paged by id; pass the X-Next-Cursor value back as cursor. limit is capped like /search.
+    @GetMapping("/summary")
+    public ResponseEntity<List<BookSummary>> getBookSummaries(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Long after,
+                                                              @RequestParam(required = false) Integer limit) {
+        BookSearchService.SummaryPage page = bookSearchService.summaries(cursor, after, limit);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.books());
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.nextCursor()).body(page.books());
+    }
+
     @GetMapping("/{bookId}")
     public ResponseEntity<Optional<Book>> getBookById(@PathVariable String bookId) {
         Optional<Book> book = catalogService.getBookById(bookId);
@@ -0,0 +1,8 @@
+package com.tenex.catalogue.model;
+
+/**
+ * Read-only view of a book for list endpoints. Built straight from the query
+ * result, so nothing enters the persistence context.
+ */
+public record BookSummary(Long id, String bookIdentifier, String title, String author, Double price) {
+}
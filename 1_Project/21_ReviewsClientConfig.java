@@ -0,0 +1,31 @@
+package com.tenex.catalogue.service;
+
+import feign.Request;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connect and read timeouts for the reviews Feign clients. Without them a
+ * stalled reviews service holds a thread for as long as the socket stays open,
+ * long after {@link BookDetailsService} has given up on the attempt. The read
+ * timeout therefore defaults to the per-attempt deadline. The batch client
+ * picks up the same options, so a stalled batch call frees its dispatcher
+ * thread too.
+ */
+@Configuration
+public class ReviewsClientConfig {
+
+    @Value("${catalogue.reviews.connect-timeout-ms:100}")
+    private long connectTimeoutMillis;
+
+    @Value("${catalogue.reviews.read-timeout-ms:${catalogue.details.reviews-attempt-timeout-ms:250}}")
+    private long readTimeoutMillis;
+
+    @Bean
+    public Request.Options reviewsRequestOptions() {
+        return new Request.Options(connectTimeoutMillis, TimeUnit.MILLISECONDS, readTimeoutMillis, TimeUnit.MILLISECONDS, true);
+    }
+}
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Data
 @Entity
@@ -16,6 +17,8 @@ import lombok.extern.slf4j.Slf4j;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name ="books")
+// Only changed columns are written, so editing a title cannot overwrite a concurrent stock reservation.
+@DynamicUpdate
 public class Book {
 
 
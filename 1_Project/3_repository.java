@@ -1,7 +1,43 @@
 package com.tenex.catalogue.repository;
 
 import com.tenex.catalogue.model.Book;
+import com.tenex.catalogue.model.BookSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    Optional<Book> findByBookIdentifier(String bookIdentifier);
+
+    // Id-only lookups for resolving path keys without loading the entity.
+    @Query("select b.id from Book b where b.bookIdentifier = :bookIdentifier")
+    Optional<Long> findIdByBookIdentifier(@Param("bookIdentifier") String bookIdentifier);
+
+    boolean existsByIdAndBookIdentifier(Long id, String bookIdentifier);
+
+    @Query("select new com.tenex.catalogue.model.BookSummary(b.id, b.bookIdentifier, b.title, b.author, b.price) from Book b where b.id > :id order by b.id")
+    List<BookSummary> findSummariesByIdGreaterThan(@Param("id") long id, Pageable pageable);
+
+    // [id, bookIdentifier] pairs, used to warm BookIdentifierIndex.
+    @Query("select b.id, b.bookIdentifier from Book b")
+    List<Object[]> findAllIdentifiers();
+
+    // Returns 0 when the book is missing or has fewer than quantity units left.
+    @Modifying
+    @Query("update Book b set b.Stock = b.Stock - :quantity where b.id = :id and b.Stock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("select b.Stock from Book b where b.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    // Write-behind from StockEngine. Returns 0 instead of going negative: the engine treats that as an oversell.
+    @Modifying
+    @Query("update Book b set b.Stock = b.Stock - :delta where b.id = :id and b.Stock >= :delta")
+    int applyStockDelta(@Param("id") Long id, @Param("delta") int delta);
 }
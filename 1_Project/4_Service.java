@@ -4,15 +4,19 @@ package com.tenex.catalogue.service;
 
 
 import com.tenex.catalogue.model.Book;
+import com.tenex.catalogue.model.BookSummary;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 //@Service
 //@Slf4j
@@ -61,6 +65,15 @@ public class CatalogService {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookIdentifierIndex bookIdentifierIndex;
+
+    @Autowired(required = false)
+    private StockEngine stockEngine;
+
+    @Autowired(required = false)
+    private BookSearchIndex bookSearchIndex;
+
 
     public List<Book> getAll(){
 
@@ -71,7 +84,12 @@ public class CatalogService {
 
     public Book createBook(Book book) {
 
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        bookIdentifierIndex.put(savedBook.getBookIdentifier(), savedBook.getId());
+        if (bookSearchIndex != null) {
+            bookSearchIndex.put(savedBook);
+        }
+        return savedBook;
 
 
     }
@@ -81,13 +99,19 @@ public class CatalogService {
         return bookRepository.findAll();
     }
 
+    // Projection query in a read-only transaction: no entities, snapshots or flush.
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBookSummaries(long afterId, int limit) {
+        return bookRepository.findSummariesByIdGreaterThan(afterId, PageRequest.ofSize(limit));
+    }
+
     public Optional<Book> getBookById(String bookId) {
-        return  bookRepository.findById(Long.valueOf(bookId));
+        return findBook(bookId);
     }
 
     public Optional<Book> updateBook(String bookId, Book updatedBook) {
 
-        Optional<Book> optionalBook = bookRepository.findById(Long.valueOf(bookId));
+        Optional<Book> optionalBook = findBook(bookId);
 
         if (optionalBook.isPresent()) {
             Book book = optionalBook.get();
@@ -105,7 +129,15 @@ public class CatalogService {
             }
 
 
-            return Optional.of(bookRepository.save(book));
+            Book savedBook = bookRepository.save(book);
+            bookIdentifierIndex.put(savedBook.getBookIdentifier(), savedBook.getId());
+            if (stockEngine != null && updatedBook.getStock() != null) {
+                stockEngine.evict(savedBook.getId());
+            }
+            if (bookSearchIndex != null) {
+                bookSearchIndex.put(savedBook);
+            }
+            return Optional.of(savedBook);
         }else {
             return Optional.empty();
         }
@@ -114,9 +146,16 @@ public class CatalogService {
     public void deleteBook(String bookId) {
 
 
-        Optional<Book> employee = bookRepository.findById(Long.valueOf(bookId));
+        Optional<Book> employee = findBook(bookId);
         if (employee.isPresent()) {
-            bookRepository.deleteById(Long.valueOf(bookId));
+            bookRepository.deleteById(employee.get().getId());
+            bookIdentifierIndex.remove(employee.get().getBookIdentifier(), employee.get().getId());
+            if (stockEngine != null) {
+                stockEngine.evict(employee.get().getId());
+            }
+            if (bookSearchIndex != null) {
+                bookSearchIndex.remove(employee.get().getId());
+            }
             ResponseEntity.ok("Employee of id " + bookId + " has been deleted");
 
 
@@ -127,14 +166,81 @@ public class CatalogService {
 
     public @NotBlank @NotNull @Min(0) Integer getStock(String bookId) {
 
-        Optional<Book> bookOptional = bookRepository.findById(Long.valueOf(bookId));
+        Optional<Book> bookOptional = findBook(bookId);
         if (bookOptional.isPresent()){
             Book book = bookOptional.get();
+            if (stockEngine != null) {
+                OptionalLong available = stockEngine.available(book.getId());
+                if (available.isPresent()) {
+                    return (int) available.getAsLong();
+                }
+            }
             return book.getStock();
         }
 
         return null;
     }
+
+    /**
+     * Id for a path key, resolved like {@link #findBook} but with id-only
+     * queries, so the book itself is never loaded. A map hit is confirmed
+     * against the primary key, since another instance may have changed or
+     * deleted the book.
+     */
+    public Optional<Long> resolveId(String bookId) {
+        Optional<Long> indexedId = bookIdentifierIndex.resolve(bookId);
+        if (indexedId.isPresent()) {
+            if (bookRepository.existsByIdAndBookIdentifier(indexedId.get(), bookId)) {
+                return indexedId;
+            }
+            bookIdentifierIndex.remove(bookId, indexedId.get());
+        }
+
+        Optional<Long> numericId = parseId(bookId);
+        if (numericId.isPresent() && bookRepository.existsById(numericId.get())) {
+            return numericId;
+        }
+
+        Optional<Long> id = bookRepository.findIdByBookIdentifier(bookId);
+        id.ifPresent(found -> bookIdentifierIndex.put(bookId, found));
+        return id;
+    }
+
+    /**
+     * Resolves a path key as a bookIdentifier known to the in-memory map, then
+     * as a numeric id so existing links cost one query, then through the
+     * bookIdentifier unique index for identifiers the map has not seen yet.
+     */
+    private Optional<Book> findBook(String bookId) {
+        Optional<Long> indexedId = bookIdentifierIndex.resolve(bookId);
+        if (indexedId.isPresent()) {
+            Optional<Book> book = bookRepository.findById(indexedId.get());
+            if (book.isPresent() && bookId.equals(book.get().getBookIdentifier())) {
+                return book;
+            }
+            bookIdentifierIndex.remove(bookId, indexedId.get());
+        }
+
+        Optional<Long> numericId = parseId(bookId);
+        if (numericId.isPresent()) {
+            Optional<Book> book = bookRepository.findById(numericId.get());
+            if (book.isPresent()) {
+                return book;
+            }
+        }
+
+        Optional<Book> book = bookRepository.findByBookIdentifier(bookId);
+        book.ifPresent(found -> bookIdentifierIndex.put(bookId, found.getId()));
+        return book;
+    }
+
+    private static Optional<Long> parseId(String bookId) {
+        try {
+            return Optional.of(Long.valueOf(bookId));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
 }
 
 
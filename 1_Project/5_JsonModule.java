@@ -0,0 +1,128 @@
+package com.tenex.catalogue.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tenex.catalogue.model.Book;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Hand-written Jackson (de)serializers for {@link Book}, so book payloads skip
+ * reflective bean (de)serialization. Spring Boot registers Module beans with the
+ * ObjectMapper behind the MVC JSON message converter.
+ *
+ * Keep the property names in step with the Lombok generated getters on Book.
+ */
+@Component
+public class BookJsonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString AUTHOR = new SerializedString("author");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString STOCK = new SerializedString("stock");
+    private static final SerializedString BOOK_IDENTIFIER = new SerializedString("bookIdentifier");
+
+    public BookJsonModule() {
+        super("BookJsonModule");
+        addSerializer(Book.class, new BookSerializer());
+        addDeserializer(Book.class, new BookDeserializer());
+    }
+
+    static final class BookSerializer extends StdSerializer<Book> {
+
+        BookSerializer() {
+            super(Book.class);
+        }
+
+        @Override
+        public void serialize(Book book, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(book);
+            generator.writeFieldName(ID);
+            if (book.getId() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(book.getId());
+            }
+            generator.writeFieldName(TITLE);
+            generator.writeString(book.getTitle());
+            generator.writeFieldName(AUTHOR);
+            generator.writeString(book.getAuthor());
+            generator.writeFieldName(PRICE);
+            if (book.getPrice() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(book.getPrice());
+            }
+            generator.writeFieldName(STOCK);
+            if (book.getStock() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(book.getStock());
+            }
+            generator.writeFieldName(BOOK_IDENTIFIER);
+            generator.writeString(book.getBookIdentifier());
+            generator.writeEndObject();
+        }
+    }
+
+    static final class BookDeserializer extends StdDeserializer<Book> {
+
+        BookDeserializer() {
+            super(Book.class);
+        }
+
+        @Override
+        public Book deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (Book) context.handleUnexpectedToken(Book.class, parser);
+            }
+
+            Book book = new Book();
+            for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                switch (name) {
+                    case "id" -> book.setId(token == JsonToken.VALUE_NUMBER_INT ? Long.valueOf(parser.getLongValue()) : readScalar(parser, context, Long.class));
+                    case "title" -> book.setTitle(readString(parser, context));
+                    case "author" -> book.setAuthor(readString(parser, context));
+                    case "price" -> book.setPrice(token.isNumeric() ? Double.valueOf(parser.getDoubleValue()) : readScalar(parser, context, Double.class));
+                    case "stock" -> book.setStock(token == JsonToken.VALUE_NUMBER_INT ? Integer.valueOf(parser.getIntValue()) : readScalar(parser, context, Integer.class));
+                    case "bookIdentifier" -> book.setBookIdentifier(readString(parser, context));
+                    // Spring Boot disables FAIL_ON_UNKNOWN_PROPERTIES; match that.
+                    default -> parser.skipChildren();
+                }
+            }
+            return book;
+        }
+    }
+
+    private static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+
+    // Nulls stay null; anything else goes through Jackson's standard coercion rules.
+    private static <T> T readScalar(JsonParser parser, DeserializationContext context, Class<T> type) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(parser, type);
+    }
+}
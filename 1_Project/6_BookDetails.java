@@ -0,0 +1,12 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.model.Book;
+
+import java.util.List;
+
+/**
+ * Book page payload. When the reviews service is slow or down the book is still
+ * returned, with no reviews and {@code reviewsAvailable} set to false.
+ */
+public record BookDetails(Book book, List<ReviewModel> reviews, boolean reviewsAvailable) {
+}
@@ -0,0 +1,176 @@
+package com.tenex.catalogue.service;
+
+import com.tenex.catalogue.model.Book;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a book and its reviews concurrently. The book has a hard deadline; the
+ * reviews call is hedged (a duplicate request is sent if the first one is slow)
+ * and, if no attempt answers within its deadline, the page degrades to the book
+ * alone.
+ */
+@Service
+@Slf4j
+public class BookDetailsService {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private ReviewsServiceFeignClient reviewsServiceFeignClient;
+
+    @Autowired
+    private CachingReviewsClient cachingReviewsClient;
+
+    @Value("${catalogue.details.book-timeout-ms:500}")
+    private long bookTimeoutMillis;
+
+    @Value("${catalogue.details.reviews-timeout-ms:300}")
+    private long reviewsTimeoutMillis;
+
+    @Value("${catalogue.details.reviews-attempt-timeout-ms:250}")
+    private long reviewsAttemptTimeoutMillis;
+
+    @Value("${catalogue.details.reviews-hedge-delay-ms:50}")
+    private long reviewsHedgeDelayMillis;
+
+    @Value("${catalogue.details.reviews-max-attempts:2}")
+    private int reviewsMaxAttempts;
+
+    // Book loads get their own pool so a reviews outage, which ties up reviewsExecutor, never queues them.
+    private final ThreadPoolExecutor bookExecutor = new ThreadPoolExecutor(32, 32, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000), new ThreadPoolExecutor.AbortPolicy());
+
+    // Bounded so a reviews outage cannot pile up unbounded work; rejected attempts just count as failures.
+    // Threads are freed by the Feign read timeout (ReviewsClientConfig), not by the attempt deadline.
+    private final ThreadPoolExecutor reviewsExecutor = new ThreadPoolExecutor(32, 32, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000), new ThreadPoolExecutor.AbortPolicy());
+
+    public Optional<BookDetails> getBookDetails(String bookId) {
+        CompletableFuture<Optional<Book>> book;
+        try {
+            book = CompletableFuture.supplyAsync(() -> catalogService.getBookById(bookId), bookExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many book requests in flight");
+        }
+        // A cached (or already in-flight) answer wins outright; only a miss pays for the hedged remote call.
+        // The cache hands out a shared future, so the timeout applies to a copy and never completes it for other callers.
+        CompletableFuture<List<ReviewModel>> reviews = cachingReviewsClient.getReviewsForBook(bookId, id -> new HedgedReviewsCall(id).start())
+                .copy()
+                .completeOnTimeout(null, reviewsTimeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    log.warn("Reviews for book {} unavailable: {}", bookId, ex.toString());
+                    return null;
+                });
+
+        Optional<Book> loadedBook = awaitBook(bookId, book, reviews);
+        if (loadedBook.isEmpty()) {
+            reviews.cancel(true);
+            return Optional.empty();
+        }
+
+        List<ReviewModel> loadedReviews = reviews.join();
+        return Optional.of(loadedReviews == null
+                ? new BookDetails(loadedBook.get(), List.of(), false)
+                : new BookDetails(loadedBook.get(), loadedReviews, true));
+    }
+
+    private Optional<Book> awaitBook(String bookId, CompletableFuture<Optional<Book>> book, CompletableFuture<?> reviews) {
+        try {
+            return book.get(bookTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            reviews.cancel(true);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Timed out loading book " + bookId);
+        } catch (ExecutionException ex) {
+            reviews.cancel(true);
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            reviews.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted loading book " + bookId);
+        }
+    }
+
+    private List<ReviewModel> fetchReviews(String bookId) {
+        ResponseEntity<List<ReviewModel>> response = reviewsServiceFeignClient.getReviewsForBook(bookId);
+        return response.getBody() == null ? List.of() : response.getBody();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        bookExecutor.shutdownNow();
+        reviewsExecutor.shutdownNow();
+    }
+
+    /**
+     * Sends the first attempt immediately and another one every hedge delay, up
+     * to the attempt limit, stopping as soon as any attempt succeeds. A failed
+     * attempt is retried straight away while attempts remain.
+     */
+    private final class HedgedReviewsCall {
+
+        private final String bookId;
+        private final CompletableFuture<List<ReviewModel>> result = new CompletableFuture<>();
+        private final AtomicInteger attemptsLeft = new AtomicInteger(reviewsMaxAttempts);
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        HedgedReviewsCall(String bookId) {
+            this.bookId = bookId;
+        }
+
+        CompletableFuture<List<ReviewModel>> start() {
+            launch();
+            for (int hedge = 1; hedge < reviewsMaxAttempts; hedge++) {
+                CompletableFuture.delayedExecutor(hedge * reviewsHedgeDelayMillis, TimeUnit.MILLISECONDS, reviewsExecutor)
+                        .execute(this::launch);
+            }
+            return result;
+        }
+
+        private void launch() {
+            if (result.isDone() || attemptsLeft.getAndDecrement() <= 0) {
+                return;
+            }
+            inFlight.incrementAndGet();
+            CompletableFuture<List<ReviewModel>> attempt;
+            try {
+                // An attempt that only leaves the queue after the call is settled is not worth sending.
+                attempt = CompletableFuture.supplyAsync(() -> result.isDone() ? null : fetchReviews(bookId), reviewsExecutor);
+            } catch (RuntimeException ex) {
+                attempt = CompletableFuture.failedFuture(ex);
+            }
+            attempt.orTimeout(reviewsAttemptTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .whenComplete((reviews, ex) -> {
+                        int stillInFlight = inFlight.decrementAndGet();
+                        if (ex == null) {
+                            result.complete(reviews);
+                        } else if (attemptsLeft.get() > 0) {
+                            launch();
+                        } else if (stillInFlight == 0) {
+                            result.completeExceptionally(ex);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tenex.catalogue.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Local cache in front of the reviews service, keyed by book id. Loads and
+ * refreshes go through {@link ReviewsBatcher}, so misses for different books
+ * that land close together share one remote call.
+ *
+ * - Entries older than refresh-after are still served, and trigger one
+ *   background reload (stale-while-revalidate); entries older than
+ *   expire-after are dropped.
+ * - Concurrent misses for the same book share a single in-flight load.
+ * - Hit/miss/eviction counts are published as {@code cache.*} metrics with
+ *   {@code cache=reviews}, and remote call latency as
+ *   {@code catalogue.reviews.remote} tagged with {@code kind=load|refresh}.
+ */
+@Service
+@Slf4j
+public class CachingReviewsClient {
+
+    static final String CACHE_NAME = "reviews";
+
+    @Autowired
+    private ReviewsBatcher reviewsBatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalogue.reviews.cache.maximum-size:50000}")
+    private long maximumSize;
+
+    @Value("${catalogue.reviews.cache.refresh-after:1m}")
+    private Duration refreshAfter;
+
+    @Value("${catalogue.reviews.cache.expire-after:30m}")
+    private Duration expireAfter;
+
+    private AsyncLoadingCache<String, List<ReviewModel>> cache;
+    private Timer loadTimer;
+    private Timer refreshTimer;
+
+    @PostConstruct
+    void init() {
+        loadTimer = Timer.builder("catalogue.reviews.remote").tag("kind", "load").register(meterRegistry);
+        refreshTimer = Timer.builder("catalogue.reviews.remote").tag("kind", "refresh").register(meterRegistry);
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<String, List<ReviewModel>>() {
+                    @Override
+                    public CompletableFuture<List<ReviewModel>> asyncLoad(String bookId, Executor executor) {
+                        return timed(reviewsBatcher.getReviewsForBook(bookId), loadTimer);
+                    }
+
+                    // On failure Caffeine keeps serving the stale value and tries again on a later read.
+                    @Override
+                    public CompletableFuture<List<ReviewModel>> asyncReload(String bookId, List<ReviewModel> oldValue, Executor executor) {
+                        return timed(reviewsBatcher.getReviewsForBook(bookId), refreshTimer);
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CompletableFuture<List<ReviewModel>> getReviewsForBook(String bookId) {
+        return cache.get(bookId);
+    }
+
+    /**
+     * Like {@link #getReviewsForBook(String)}, but a miss is filled by
+     * {@code loader} instead of the batched call. Background refreshes still
+     * go through the batcher.
+     */
+    public CompletableFuture<List<ReviewModel>> getReviewsForBook(String bookId,
+                                                                  Function<String, CompletableFuture<List<ReviewModel>>> loader) {
+        return cache.get(bookId, (key, executor) -> loader.apply(key));
+    }
+
+    public void invalidate(String bookId) {
+        cache.synchronous().invalidate(bookId);
+    }
+
+    private CompletableFuture<List<ReviewModel>> timed(CompletableFuture<List<ReviewModel>> call, Timer timer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.whenComplete((reviews, ex) -> sample.stop(timer));
+    }
+}
@@ -0,0 +1,19 @@
+package com.tenex.catalogue.service;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch lookup on the reviews service: one call returns the reviews of many
+ * books, keyed by book id. Books without reviews may be left out of the map.
+ */
+@FeignClient(name = "${catalogue.reviews.service-name:reviews-service}", contextId = "reviewsBatch")
+public interface ReviewsBatchFeignClient {
+
+    @GetMapping("/reviews")
+    Map<String, List<ReviewModel>> getReviewsForBooks(@RequestParam("bookIds") List<String> bookIds);
+}
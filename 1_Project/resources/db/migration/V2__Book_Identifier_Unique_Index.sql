@@ -0,0 +1,3 @@
+-- Books are looked up by book_identifier, so it needs a unique index rather
+-- than relying on whatever the schema generator created for @Column(unique = true).
+CREATE UNIQUE INDEX IF NOT EXISTS books_book_identifier_uidx ON books (book_identifier);
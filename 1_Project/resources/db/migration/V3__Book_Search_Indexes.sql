@@ -0,0 +1,14 @@
+-- Indexes behind GET /books/search. The expressions must stay identical to the
+-- ones in BookRepositoryCustomImpl or the planner will not use them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Title/author prefix (LIKE 'abc%'), case-insensitive.
+CREATE INDEX IF NOT EXISTS books_title_trgm_idx ON books USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS books_author_trgm_idx ON books USING gin (lower(author) gin_trgm_ops);
+
+-- Full-text over title and author.
+CREATE INDEX IF NOT EXISTS books_search_fts_idx ON books USING gin (to_tsvector('simple', title || ' ' || author));
+
+-- Keyset pagination for each sort order.
+CREATE INDEX IF NOT EXISTS books_price_id_idx ON books (price, id);
+CREATE INDEX IF NOT EXISTS books_title_id_idx ON books (title, id);
@@ -0,0 +1,9 @@
+-- Last stock journal segment whose deltas StockEngine has committed to
+-- books.stock. Written in the same transaction as the deltas, so recovery can
+-- skip segments that were applied but not yet deleted.
+CREATE TABLE stock_engine_checkpoint (
+    id int PRIMARY KEY CHECK (id = 1),
+    last_segment bigint NOT NULL
+);
+
+INSERT INTO stock_engine_checkpoint (id, last_segment) VALUES (1, -1);
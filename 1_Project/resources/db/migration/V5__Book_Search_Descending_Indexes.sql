@@ -0,0 +1,5 @@
+-- Search orders NULL prices and titles last in both directions, so descending
+-- pages need their own (column DESC NULLS LAST, id DESC) indexes; the V3 ones
+-- only serve the ascending order.
+CREATE INDEX IF NOT EXISTS books_price_id_desc_idx ON books (price DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS books_title_id_desc_idx ON books (title DESC NULLS LAST, id DESC);
@@ -0,0 +1,33 @@
+package com.tenex.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the benchmark jar. Accepts the usual JMH command line (e.g.
+ * {@code EmployeeApiBenchmark -p profile=reactive -t 64}) and always writes
+ * JSON results, with the GC profiler on so allocation rates are recorded next
+ * to the timings.
+ *
+ * Results go to {@code -Dbench.result} (default {@code jmh-result.json}); keep
+ * one file per commit and compare them to spot regressions. The database is
+ * configured through {@link LocalDatabase}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "jmh-result.json"))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,193 @@
+package com.tenex.benchmarks;
+
+import com.tenex.catalogue.service.CachingReviewsClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tenex.benchmarks.BenchmarkHttp.expect;
+
+/**
+ * /books routes end to end, with the reviews service replaced by
+ * {@link StubReviewsServer} answering after {@code reviewsLatencyMs}.
+ *
+ * - {@link #reviewsCold} invalidates the cached entry first, so every call
+ *   goes through the batcher to the stub; {@link #reviews} is the cached path.
+ * - {@link #details} is the parallel book + reviews fan-out.
+ * - {@link #reserveHotBook} has 64 threads reserving from one book; run it
+ *   with {@code -p stockEngine=true} to compare the in-memory engine with the
+ *   conditional UPDATE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CatalogueApiBenchmark {
+
+    // The catalogue's own application class is not part of this source tree.
+    @SpringBootApplication(scanBasePackages = "com.tenex.catalogue")
+    @EntityScan("com.tenex.catalogue.model")
+    @EnableJpaRepositories("com.tenex.catalogue.repository")
+    @EnableFeignClients("com.tenex.catalogue")
+    static class CatalogueApplication {
+    }
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"0", "20"})
+    public long reviewsLatencyMs;
+
+    @Param({"false"})
+    public boolean stockEngine;
+
+    private StubReviewsServer reviewsServer;
+    private ConfigurableApplicationContext context;
+    private BenchmarkHttp http;
+    private CachingReviewsClient cachingReviewsClient;
+    private long[] ids;
+    private String[] identifiers;
+    private final ConcurrentLinkedQueue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        ids = LocalDatabase.seedBooks(rows);
+        identifiers = LocalDatabase.jdbcTemplate()
+                .queryForList("SELECT book_identifier FROM books ORDER BY id", String.class)
+                .toArray(String[]::new);
+        reviewsServer = new StubReviewsServer(reviewsLatencyMs);
+
+        context = new SpringApplicationBuilder(CatalogueApplication.class)
+                .properties(LocalDatabase.properties())
+                .properties(reviewsServiceProperties(reviewsServer))
+                .properties("server.port=0",
+                        "catalogue.stock.engine.enabled=" + stockEngine,
+                        "catalogue.stock.engine.journal-dir=target/bench-stock-journal")
+                .run();
+        http = new BenchmarkHttp(Integer.parseInt(context.getEnvironment().getProperty("local.server.port")));
+        cachingReviewsClient = context.getBean(CachingReviewsClient.class);
+    }
+
+    // Points the catalogue's reviews Feign clients at the stub.
+    static String[] reviewsServiceProperties(StubReviewsServer reviewsServer) {
+        String reviewsService = System.getProperty("bench.reviews.client-name", "reviews-service");
+        return new String[]{
+                "spring.cloud.openfeign.client.config." + reviewsService + ".url=" + reviewsServer.url(),
+                "spring.cloud.discovery.client.simple.instances." + reviewsService + "[0].uri=" + reviewsServer.url(),
+                "catalogue.reviews.service-name=" + reviewsService
+        };
+    }
+
+    @Setup(Level.Iteration)
+    public void refillDeletable() {
+        deletable.clear();
+        for (long id : LocalDatabase.insertBooks(LocalDatabase.jdbcTemplate(), 50_000, "DEL-")) {
+            deletable.add(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        reviewsServer.close();
+    }
+
+    @Benchmark
+    public byte[] listAll() {
+        return expect(http.get("/books"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] summaryPage() {
+        return expect(http.get("/books/summary?limit=100&after=" + ids[ids.length / 2]), 200).body();
+    }
+
+    @Benchmark
+    public byte[] getById() {
+        return expect(http.get("/books/" + randomId()), 200).body();
+    }
+
+    @Benchmark
+    public byte[] getByIdentifier() {
+        return expect(http.get("/books/" + identifiers[ThreadLocalRandom.current().nextInt(identifiers.length)]), 200).body();
+    }
+
+    @Benchmark
+    public byte[] search() {
+        return expect(http.get("/books/search?author=author%201&minPrice=10&maxPrice=30&sort=price&limit=50"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] create() {
+        long n = sequence.incrementAndGet();
+        return expect(http.post("/books", "{\"title\":\"Bench " + n + "\",\"author\":\"Mark\",\"price\":10.0,\"stock\":5,"
+                + "\"bookIdentifier\":\"BENCH-" + n + "-" + System.nanoTime() + "\"}"), 201).body();
+    }
+
+    @Benchmark
+    public byte[] update() {
+        return expect(http.put("/books/" + randomId(), "{\"price\":12.5}"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] delete() {
+        Long id = deletable.poll();
+        if (id == null) {
+            throw new IllegalStateException("Deletable pool exhausted; shorten the iteration or raise the pool size");
+        }
+        return expect(http.delete("/books/" + id), 204).body();
+    }
+
+    @Benchmark
+    public byte[] reviews() {
+        return expect(http.get("/books/" + randomId() + "/reviews"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] reviewsCold() {
+        String bookId = String.valueOf(randomId());
+        cachingReviewsClient.invalidate(bookId);
+        return expect(http.get("/books/" + bookId + "/reviews"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] details() {
+        return expect(http.get("/books/" + randomId() + "/details"), 200).body();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int reserveHotBook() {
+        // 409 once the hot book runs out is a valid outcome; it is the contention we measure.
+        return http.post("/books/" + ids[0] + "/stock/reserve?quantity=1", "").statusCode();
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
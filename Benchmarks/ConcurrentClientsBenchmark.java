@@ -0,0 +1,170 @@
+package com.tenex.benchmarks;
+
+import com.tenex.rest.springboot4.Springboot4Application;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code GET /api/v1/employees/{id}} under {@code clients} concurrent clients,
+ * on platform threads ({@code default}) and on virtual threads with admission
+ * limiting ({@code virtual-threads}).
+ *
+ * - Every client is a virtual thread sending {@code requestsPerClient}
+ *   requests back to back over one shared {@link HttpClient}, so about
+ *   {@code clients} requests are in flight for the whole invocation.
+ * - The primary score counts invocations; read requests per second from the
+ *   {@code ok} counter. {@code rejected} are the 503s admission limiting sheds
+ *   and {@code failed} are connections that were refused or timed out.
+ * - Both sides hold one socket per client: raise {@code ulimit -n} above
+ *   {@code 2 * clients} before running the 10000 case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(1)
+@Threads(1)
+public class ConcurrentClientsBenchmark {
+
+    @Param({"default", "virtual-threads"})
+    public String profile;
+
+    @Param({"1000", "10000"})
+    public int clients;
+
+    @Param({"20"})
+    public int requestsPerClient;
+
+    @Param({"10000"})
+    public int rows;
+
+    /** Per-invocation response counts, reported by JMH as rates next to the primary score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            ok = 0;
+            rejected = 0;
+            failed = 0;
+        }
+    }
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        ids = LocalDatabase.seedEmployees(rows);
+        // Tomcat's default 8192 connections would refuse clients before either profile is measured.
+        context = new SpringApplicationBuilder(Springboot4Application.class)
+                .profiles(profile)
+                .properties(LocalDatabase.properties())
+                .properties("server.port=0",
+                        "server.tomcat.max-connections=" + (clients + 1000),
+                        "server.tomcat.accept-count=" + clients)
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void getById(Responses responses) {
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicInteger unexpected = new AtomicInteger();
+
+        // close() waits until every client has sent its last request.
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                clientThreads.execute(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        int status = send("/api/v1/employees/" + randomId());
+                        if (status == 200) {
+                            ok.increment();
+                        } else if (status == 503) {
+                            rejected.increment();
+                        } else if (status < 0) {
+                            failed.increment();
+                        } else {
+                            unexpected.compareAndSet(0, status);
+                        }
+                    }
+                });
+            }
+        }
+        if (unexpected.get() != 0) {
+            throw new IllegalStateException("GET /api/v1/employees returned " + unexpected.get());
+        }
+
+        responses.ok += ok.sum();
+        responses.rejected += rejected.sum();
+        responses.failed += failed.sum();
+    }
+
+    // Status code, or -1 when no response arrived.
+    private int send(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+        } catch (IOException ex) {
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,146 @@
+package com.tenex.benchmarks;
+
+import com.tenex.rest.springboot4.Springboot4Application;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tenex.benchmarks.BenchmarkHttp.expect;
+
+/**
+ * Every /api/v1/employees route that both stacks serve, end to end over HTTP.
+ *
+ * - {@code profile} compares the servlet stack on platform threads
+ *   ({@code default}), on virtual threads with admission limiting
+ *   ({@code virtual-threads}) and WebFlux + R2DBC ({@code reactive}) under
+ *   identical load. {@link ConcurrentClientsBenchmark} compares the first two
+ *   at 1000 and 10000 concurrent clients.
+ * - {@code cache} turns the employee cache on and off, which shows up in
+ *   {@link #getById} percentiles (SampleTime mode).
+ * - {@link #getMissing} measures the not-found path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EmployeeApiBenchmark {
+
+    @Param({"default", "virtual-threads", "reactive"})
+    public String profile;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkHttp http;
+    private long[] ids;
+    private final ConcurrentLinkedQueue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        ids = LocalDatabase.seedEmployees(rows);
+        context = new SpringApplicationBuilder(Springboot4Application.class)
+                .profiles(profile)
+                .properties(LocalDatabase.properties())
+                .properties("server.port=0", "employees.cache.enabled=" + cache)
+                .run();
+        http = new BenchmarkHttp(Integer.parseInt(context.getEnvironment().getProperty("local.server.port")));
+    }
+
+    // Rows for delete() are inserted outside the measured time.
+    @Setup(Level.Iteration)
+    public void refillDeletable() {
+        deletable.clear();
+        for (long id : LocalDatabase.insertEmployees(LocalDatabase.jdbcTemplate(), 50_000)) {
+            deletable.add(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listFirstPage() {
+        return expect(http.get("/api/v1/employees?limit=" + pageSize), 200).body();
+    }
+
+    @Benchmark
+    public byte[] listDeepPage() {
+        return expect(http.get("/api/v1/employees?limit=" + pageSize + "&after=" + ids[ids.length / 2]), 200).body();
+    }
+
+    @Benchmark
+    public byte[] getById() {
+        return expect(http.get("/api/v1/employees/" + randomId()), 200).body();
+    }
+
+    @Benchmark
+    public byte[] getMissing() {
+        return expect(http.get("/api/v1/employees/-1"), 404).body();
+    }
+
+    @Benchmark
+    public byte[] create() {
+        long n = sequence.incrementAndGet();
+        return expect(http.post("/api/v1/employees",
+                "{\"firstName\":\"Bench" + n + "\",\"lastName\":\"Mark\",\"emailId\":\"bench" + n + "@example.com\"}"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] update() {
+        long n = sequence.incrementAndGet();
+        return expect(http.put("/api/v1/employees/" + randomId(),
+                "{\"firstName\":\"Updated" + n + "\",\"lastName\":\"Mark\",\"emailId\":\"updated" + n + "@example.com\"}"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] patch() {
+        return expect(http.patch("/api/v1/employees/" + randomId(), "{\"lastName\":\"Patched\"}"), 200).body();
+    }
+
+    @Benchmark
+    public byte[] delete() {
+        Long id = deletable.poll();
+        if (id == null) {
+            throw new IllegalStateException("Deletable pool exhausted; shorten the iteration or raise the pool size");
+        }
+        return expect(http.delete("/api/v1/employees/" + id), 200).body();
+    }
+
+    @Benchmark
+    public byte[] exportNdjson() {
+        return expect(http.get("/api/v1/employees/export?format=ndjson"), 200).body();
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
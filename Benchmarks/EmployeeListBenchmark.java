@@ -0,0 +1,106 @@
+package com.tenex.benchmarks;
+
+import com.tenex.rest.springboot4.Springboot4Application;
+import com.tenex.rest.springboot4.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.tenex.benchmarks.BenchmarkHttp.expect;
+
+/**
+ * List-shaped reads on the servlet stack, run with the GC profiler
+ * ({@link BenchmarkRunner}) so {@code gc.alloc.rate.norm} gives heap per call.
+ *
+ * - {@link #findAllBaseline} is the unpaged {@code findAll()} the list endpoint
+ *   used to call; compare it with {@link #keysetPage} across {@link #rows}.
+ *   At ten million rows the baseline needs a heap of several gigabytes
+ *   ({@code -jvmArgsAppend -Xmx16g}); running out is itself the result.
+ *   Narrow the sweep with {@code -p rows=...}, because seeding dominates setup.
+ * - {@link #entityPage} and {@link #summaryPage} are the same page as managed
+ *   entities and as record projections.
+ * - {@link #bulkCreate} posts {@code pageSize} employees in one request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EmployeeListBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkHttp http;
+    private EmployeeRepository employeeRepository;
+    private String bulkBody;
+    private long middleId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        middleId = LocalDatabase.seedEmployeeTable(rows);
+        context = new SpringApplicationBuilder(Springboot4Application.class)
+                .properties(LocalDatabase.properties())
+                .properties("server.port=0", "employees.page.max-limit=" + pageSize)
+                .run();
+        http = new BenchmarkHttp(Integer.parseInt(context.getEnvironment().getProperty("local.server.port")));
+        employeeRepository = context.getBean(EmployeeRepository.class);
+
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < pageSize; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"firstName\":\"Bulk").append(i).append("\",\"lastName\":\"Mark\",\"emailId\":\"bulk")
+                    .append(i).append("@example.com\"}");
+        }
+        bulkBody = body.append("]").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findAllBaseline() {
+        return employeeRepository.findAll().size();
+    }
+
+    @Benchmark
+    public byte[] keysetPage() {
+        return expect(http.get("/api/v1/employees?limit=" + pageSize), 200).body();
+    }
+
+    @Benchmark
+    public byte[] entityPage() {
+        return expect(http.get("/api/v1/employees?limit=" + pageSize + "&after=" + middleId), 200).body();
+    }
+
+    @Benchmark
+    public byte[] summaryPage() {
+        return expect(http.get("/api/v1/employees/summary?limit=" + pageSize + "&after=" + middleId), 200).body();
+    }
+
+    @Benchmark
+    public byte[] bulkCreate() {
+        return expect(http.post("/api/v1/employees/bulk", bulkBody), 201).body();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tenex.rest.springboot4.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The not-found path in isolation: throwing and catching the exception at
+ * a realistic stack depth, and rendering the error body. Lives in the
+ * exception package because {@link ErrorBodies} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    // Roughly the number of frames between a controller and the servlet container.
+    @Param({"100"})
+    public int depth;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public Object throwWithStackTrace() {
+        return throwAt(depth, () -> new ResourceNotFoundException("Employee of id 42 not found"));
+    }
+
+    @Benchmark
+    public Object throwStackless() {
+        return throwAt(depth, () -> ResourceNotFoundException.stackless("Employee of id 42 not found"));
+    }
+
+    @Benchmark
+    public Object throwPreallocated() {
+        return throwAt(depth, () -> ResourceNotFoundException.PREALLOCATED);
+    }
+
+    @Benchmark
+    public byte[] renderPreEncoded() {
+        return ErrorBodies.render(ErrorBodies.NOT_FOUND, "Employee of id 42 not found", "/api/v1/employees/42");
+    }
+
+    @Benchmark
+    public byte[] renderJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(new ErrorResponse(404, "Employee of id 42 not found", "uri=/api/v1/employees/42"));
+    }
+
+    private static Object throwAt(int depth, Supplier<ResourceNotFoundException> exception) {
+        try {
+            recurse(depth, exception);
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            return ex;
+        }
+    }
+
+    private static void recurse(int depth, Supplier<ResourceNotFoundException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        recurse(depth - 1, exception);
+    }
+}
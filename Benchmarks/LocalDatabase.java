@@ -0,0 +1,101 @@
+package com.tenex.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The local Postgres the benchmarks run against, set with {@code bench.db.host},
+ * {@code bench.db.port}, {@code bench.db.name}, {@code bench.db.user} and
+ * {@code bench.db.password}. Seeding truncates the tables, so point this at a
+ * scratch database.
+ */
+final class LocalDatabase {
+
+    private static final String HOST = System.getProperty("bench.db.host", "localhost");
+    private static final String PORT = System.getProperty("bench.db.port", "5432");
+    private static final String NAME = System.getProperty("bench.db.name", "bench");
+    private static final String USER = System.getProperty("bench.db.user", "bench");
+    private static final String PASSWORD = System.getProperty("bench.db.password", "bench");
+
+    private LocalDatabase() {
+    }
+
+    static String[] properties() {
+        return new String[]{
+                "spring.datasource.url=jdbc:postgresql://" + HOST + ":" + PORT + "/" + NAME,
+                "spring.datasource.username=" + USER,
+                "spring.datasource.password=" + PASSWORD,
+                "spring.r2dbc.url=r2dbc:postgresql://" + HOST + ":" + PORT + "/" + NAME,
+                "spring.r2dbc.username=" + USER,
+                "spring.r2dbc.password=" + PASSWORD,
+                "logging.level.root=WARN"
+        };
+    }
+
+    static DataSource dataSource() {
+        return new DriverManagerDataSource("jdbc:postgresql://" + HOST + ":" + PORT + "/" + NAME, USER, PASSWORD);
+    }
+
+    static JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource());
+    }
+
+    static boolean isAvailable() {
+        try (Connection connection = dataSource().getConnection()) {
+            return connection.isValid(5);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    // Ids come from the sequence so they never collide with ids Hibernate allocates later.
+    static long[] seedEmployees(int rows) {
+        JdbcTemplate jdbc = jdbcTemplate();
+        jdbc.execute("TRUNCATE employees");
+        return insertEmployees(jdbc, rows);
+    }
+
+    /**
+     * Seeds {@code rows} employees without bringing their ids back to the JVM,
+     * for tables in the millions, and returns the id in the middle.
+     */
+    static long seedEmployeeTable(int rows) {
+        JdbcTemplate jdbc = jdbcTemplate();
+        jdbc.execute("TRUNCATE employees");
+        jdbc.update("""
+                INSERT INTO employees (id, first_name, last_name, email_id)
+                SELECT nextval('employees_id_seq'), 'First' || g, 'Last' || g, 'user' || g || '@example.com'
+                FROM generate_series(1, ?) g""", rows);
+        jdbc.execute("ANALYZE employees");
+        return jdbc.queryForObject("SELECT id FROM employees ORDER BY id OFFSET ? LIMIT 1", Long.class, rows / 2);
+    }
+
+    static long[] insertEmployees(JdbcTemplate jdbc, int rows) {
+        List<Long> ids = jdbc.queryForList("""
+                INSERT INTO employees (id, first_name, last_name, email_id)
+                SELECT nextval('employees_id_seq'), 'First' || g, 'Last' || g, 'user' || g || '@example.com'
+                FROM generate_series(1, ?) g
+                RETURNING id""", Long.class, rows);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static long[] seedBooks(int rows) {
+        JdbcTemplate jdbc = jdbcTemplate();
+        jdbc.execute("TRUNCATE books RESTART IDENTITY");
+        return insertBooks(jdbc, rows, "BK-");
+    }
+
+    static long[] insertBooks(JdbcTemplate jdbc, int rows, String identifierPrefix) {
+        List<Long> ids = jdbc.queryForList("""
+                INSERT INTO books (title, author, price, stock, book_identifier)
+                SELECT 'Title ' || g || ' of the series', 'Author ' || (g % 1000), 5 + (g % 50), 1000000, ? || g || '-' || md5(random()::text)
+                FROM generate_series(1, ?) g
+                RETURNING id""", Long.class, identifierPrefix, rows);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
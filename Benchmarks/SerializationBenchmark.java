@@ -0,0 +1,103 @@
+package com.tenex.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenex.catalogue.json.BookJsonModule;
+import com.tenex.catalogue.model.Book;
+import com.tenex.rest.springboot4.json.EmployeeJsonModule;
+import com.tenex.rest.springboot4.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hand-written Employee/Book serializers against Jackson's default
+ * reflective (bean) serialization, for a single object and for a page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"module", "reflection"})
+    public String serializer;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private Employee employee;
+    private Book book;
+    private List<Employee> page;
+    private byte[] employeeJson;
+    private byte[] bookJson;
+    private byte[] pageJson;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = new ObjectMapper();
+        if (serializer.equals("module")) {
+            mapper.registerModule(new EmployeeJsonModule());
+            mapper.registerModule(new BookJsonModule());
+        }
+
+        employee = new Employee(42, "Firstname", "Lastname", "first.last@example.com");
+        book = new Book(42L, "A Title", "An Author", 19.99, 7, "BK-42");
+        page = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            page.add(new Employee(i, "First" + i, "Last" + i, "user" + i + "@example.com"));
+        }
+
+        employeeJson = mapper.writeValueAsBytes(employee);
+        bookJson = mapper.writeValueAsBytes(book);
+        pageJson = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeEmployee() throws Exception {
+        return mapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee readEmployee() throws Exception {
+        return mapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] writeEmployeePage() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Employee> readEmployeePage() throws Exception {
+        return mapper.readValue(pageJson, EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public byte[] writeBook() throws Exception {
+        return mapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public Book readBook() throws Exception {
+        return mapper.readValue(bookJson, Book.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.tenex.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for the reviews service with a set latency, which tests may change
+ * between requests. A request with a
+ * {@code bookIds} query parameter gets the batch answer (a map from book id
+ * to reviews); anything else gets one book's list of reviews.
+ */
+final class StubReviewsServer implements AutoCloseable {
+
+    private static final String REVIEWS = "[{\"id\":1,\"rating\":5,\"comment\":\"Great\"},{\"id\":2,\"rating\":3,\"comment\":\"Fine\"}]";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile long latencyMillis;
+    private final AtomicLong requests = new AtomicLong();
+
+    StubReviewsServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    void setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        String query = exchange.getRequestURI().getRawQuery();
+        String body = query != null && query.contains("bookIds=") ? batch(query) : REVIEWS;
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String batch(String query) {
+        StringBuilder body = new StringBuilder("{");
+        for (String param : query.split("&")) {
+            if (!param.startsWith("bookIds=")) {
+                continue;
+            }
+            for (String bookId : param.substring("bookIds=".length()).split("%2C|,")) {
+                body.append(body.length() == 1 ? "" : ",").append('"').append(bookId).append("\":").append(REVIEWS);
+            }
+        }
+        return body.append('}').toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
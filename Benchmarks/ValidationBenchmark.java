@@ -0,0 +1,77 @@
+package com.tenex.benchmarks;
+
+import com.tenex.rest.springboot4.exception.BadRequestException;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.service.EmployeeChanges;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of whole employees, and the merge-patch path (parse the
+ * patch, then validate only the changed properties).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private Validator validator;
+    private Employee valid;
+    private Employee invalid;
+    private Map<String, Object> patch;
+    private Map<String, Object> invalidPatch;
+
+    @Setup
+    public void setup() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        valid = new Employee(1, "Firstname", "Lastname", "first.last@example.com");
+        invalid = new Employee(2, "F", null, null);
+        patch = Map.of("lastName", "Patched");
+        invalidPatch = Map.of("firstName", "F");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Employee>> validEmployee() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Employee>> invalidEmployee() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public Map<String, Object> validPatch() {
+        Map<String, Object> changes = EmployeeChanges.fromMergePatch(patch);
+        EmployeeChanges.validate(validator, changes);
+        return changes;
+    }
+
+    @Benchmark
+    public Object invalidPatch() {
+        try {
+            EmployeeChanges.validate(validator, EmployeeChanges.fromMergePatch(invalidPatch));
+            return null;
+        } catch (BadRequestException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.tenex.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenex.catalogue.service.CachingReviewsClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tenex.benchmarks.BenchmarkHttp.expect;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Deadlines and hedging of {@code GET /books/{id}/details}, with the reviews
+ * service replaced by {@link StubReviewsServer}. Needs the {@link LocalDatabase}
+ * and is skipped when it cannot be reached.
+ */
+class BookDetailsLatencyTest {
+
+    private static final long BOOK_TIMEOUT_MS = 500;
+    private static final long REVIEWS_TIMEOUT_MS = 300;
+    private static final long ATTEMPT_TIMEOUT_MS = 250;
+    private static final long HEDGE_DELAY_MS = 50;
+
+    private static final AtomicInteger nextBook = new AtomicInteger();
+
+    private static StubReviewsServer reviewsServer;
+    private static ConfigurableApplicationContext context;
+    private static BenchmarkHttp http;
+    private static CachingReviewsClient cachingReviewsClient;
+    private static long[] ids;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void start() throws IOException {
+        assumeTrue(LocalDatabase.isAvailable(), "Benchmark database is not reachable");
+
+        ids = LocalDatabase.seedBooks(20);
+        reviewsServer = new StubReviewsServer(0);
+        context = new SpringApplicationBuilder(CatalogueApiBenchmark.CatalogueApplication.class)
+                .properties(LocalDatabase.properties())
+                .properties(CatalogueApiBenchmark.reviewsServiceProperties(reviewsServer))
+                .properties("server.port=0",
+                        "catalogue.details.book-timeout-ms=" + BOOK_TIMEOUT_MS,
+                        "catalogue.details.reviews-timeout-ms=" + REVIEWS_TIMEOUT_MS,
+                        "catalogue.details.reviews-attempt-timeout-ms=" + ATTEMPT_TIMEOUT_MS,
+                        "catalogue.details.reviews-hedge-delay-ms=" + HEDGE_DELAY_MS,
+                        "catalogue.details.reviews-max-attempts=2")
+                .run();
+        http = new BenchmarkHttp(Integer.parseInt(context.getEnvironment().getProperty("local.server.port")));
+        cachingReviewsClient = context.getBean(CachingReviewsClient.class);
+
+        // The first calls initialise the Feign clients and Hibernate; keep that out of the timed requests.
+        for (int i = 0; i < 3; i++) {
+            expect(http.get("/books/" + coldBook() + "/details"), 200);
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (reviewsServer != null) {
+            reviewsServer.close();
+        }
+    }
+
+    @Test
+    void slowReviewsAttemptIsHedged() throws IOException {
+        // Slower than the hedge delay, but well inside the attempt and overall reviews deadlines.
+        reviewsServer.setLatency(3 * HEDGE_DELAY_MS);
+        String bookId = coldBook();
+        long requestsBefore = reviewsServer.requests();
+
+        JsonNode details = details(bookId);
+
+        assertThat(details.get("reviewsAvailable").asBoolean()).isTrue();
+        assertThat(details.get("reviews")).hasSize(2);
+        assertThat(reviewsServer.requests() - requestsBefore).isEqualTo(2);
+    }
+
+    @Test
+    void slowReviewsDegradeToTheBookAlone() throws IOException {
+        long reviewsLatency = 4 * REVIEWS_TIMEOUT_MS;
+        reviewsServer.setLatency(reviewsLatency);
+        String bookId = coldBook();
+
+        long started = System.nanoTime();
+        JsonNode details = details(bookId);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(details.get("reviewsAvailable").asBoolean()).isFalse();
+        assertThat(details.get("reviews")).isEmpty();
+        assertThat(details.get("book").get("id").asText()).isEqualTo(bookId);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(REVIEWS_TIMEOUT_MS).isLessThan(reviewsLatency);
+    }
+
+    @Test
+    void bookPastItsDeadlineIsGatewayTimeout() throws SQLException {
+        reviewsServer.setLatency(0);
+        String bookId = coldBook();
+
+        // Every read of books waits behind this lock until the transaction ends.
+        try (Connection lock = LocalDatabase.dataSource().getConnection()) {
+            lock.setAutoCommit(false);
+            try (Statement statement = lock.createStatement()) {
+                statement.execute("LOCK TABLE books IN ACCESS EXCLUSIVE MODE");
+            }
+
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response = http.get("/books/" + bookId + "/details");
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            lock.rollback();
+
+            assertThat(response.statusCode()).isEqualTo(504);
+            assertThat(elapsedMs).isGreaterThanOrEqualTo(BOOK_TIMEOUT_MS).isLessThan(4 * BOOK_TIMEOUT_MS);
+        }
+    }
+
+    // A book whose reviews are not cached, so the details call reaches the stub.
+    private static String coldBook() {
+        String bookId = String.valueOf(ids[nextBook.getAndIncrement()]);
+        cachingReviewsClient.invalidate(bookId);
+        return bookId;
+    }
+
+    private JsonNode details(String bookId) throws IOException {
+        return objectMapper.readTree(expect(http.get("/books/" + bookId + "/details"), 200).body());
+    }
+}
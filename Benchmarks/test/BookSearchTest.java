@@ -0,0 +1,183 @@
+package com.tenex.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenex.catalogue.controller.catalogueController;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.tenex.benchmarks.BenchmarkHttp.expect;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@code GET /books/search} end to end: the generated SQL for each filter, and
+ * keyset cursors walked page by page, including page boundaries that fall on
+ * rows with a NULL price. Needs the {@link LocalDatabase} and is skipped when
+ * it cannot be reached.
+ */
+class BookSearchTest {
+
+    private record Row(long id, String title, String author, Double price) {
+    }
+
+    private static StubReviewsServer reviewsServer;
+    private static ConfigurableApplicationContext context;
+    private static BenchmarkHttp http;
+    private static final List<Row> rows = new ArrayList<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void start() throws IOException {
+        assumeTrue(LocalDatabase.isAvailable(), "Benchmark database is not reachable");
+
+        reviewsServer = new StubReviewsServer(0);
+        context = new SpringApplicationBuilder(CatalogueApiBenchmark.CatalogueApplication.class)
+                .properties(LocalDatabase.properties())
+                .properties(CatalogueApiBenchmark.reviewsServiceProperties(reviewsServer))
+                .properties("server.port=0")
+                .run();
+        http = new BenchmarkHttp(Integer.parseInt(context.getEnvironment().getProperty("local.server.port")));
+
+        // Three NULL prices, and equal prices so the id tie-break is exercised too.
+        JdbcTemplate jdbc = LocalDatabase.jdbcTemplate();
+        jdbc.execute("TRUNCATE books RESTART IDENTITY");
+        insert(jdbc, "Alpha", "Ann Lee", 10.0);
+        insert(jdbc, "Beta", "Ann Lee", 20.0);
+        insert(jdbc, "Gamma", "Annabel Ray", null);
+        insert(jdbc, "Delta", "Bob Stone", 20.0);
+        insert(jdbc, "Epsilon", "Ann Lee", null);
+        insert(jdbc, "Zeta", "100% Pure", 15.0);
+        insert(jdbc, "Eta", "100 Percent", 25.0);
+        insert(jdbc, "Theta", "Ann_Other", 30.0);
+        insert(jdbc, "Iota", "Anne Frank", null);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (reviewsServer != null) {
+            reviewsServer.close();
+        }
+    }
+
+    @Test
+    void priceCursorsWalkEveryRowOnceAtEveryPageSize() throws IOException {
+        // Page sizes 1 to 4 put a page boundary on every row, NULL-priced ones included.
+        for (int limit = 1; limit <= 4; limit++) {
+            assertThat(walk("sort=price", limit)).as("limit %d", limit)
+                    .containsExactlyElementsOf(expected(row -> true, ascending(Row::price)));
+            assertThat(walk("sort=-price", limit)).as("limit %d, descending", limit)
+                    .containsExactlyElementsOf(expected(row -> true, descending(Row::price)));
+        }
+    }
+
+    @Test
+    void titleAndIdCursorsWalkEveryRowOnce() throws IOException {
+        assertThat(walk("sort=title", 2)).containsExactlyElementsOf(expected(row -> true, ascending(Row::title)));
+        assertThat(walk("sort=-title", 2)).containsExactlyElementsOf(expected(row -> true, descending(Row::title)));
+        assertThat(walk("sort=-id", 2)).containsExactlyElementsOf(expected(row -> true, descending(Row::id)));
+    }
+
+    @Test
+    void authorPrefixAndPriceRangeCombine() throws IOException {
+        assertThat(walk("author=ann&minPrice=15&maxPrice=30&sort=price", 50))
+                .containsExactlyElementsOf(expected(row -> authorStartsWith(row, "ann") && row.price() != null
+                        && row.price() >= 15 && row.price() <= 30, ascending(Row::price)));
+    }
+
+    @Test
+    void prefixWildcardsAreMatchedLiterally() throws IOException {
+        assertThat(walk("author=" + encode("ann_"), 50)).containsExactlyElementsOf(ids("Theta"));
+        assertThat(walk("author=" + encode("100%"), 50)).containsExactlyElementsOf(ids("Zeta"));
+        assertThat(walk("title=" + encode("e"), 50)).containsExactlyElementsOf(ids("Epsilon", "Eta"));
+    }
+
+    @Test
+    void fullTextMatchesTitleOrAuthor() throws IOException {
+        assertThat(walk("q=stone", 50)).containsExactlyElementsOf(ids("Delta"));
+        assertThat(walk("q=alpha", 50)).containsExactlyElementsOf(ids("Alpha"));
+    }
+
+    @Test
+    void foreignOrMalformedCursorsAreRejected() {
+        String priceCursor = page("sort=price&limit=1").headers().firstValue(catalogueController.NEXT_CURSOR_HEADER).orElseThrow();
+        assertThat(http.get("/books/search?sort=title&limit=1&cursor=" + priceCursor).statusCode()).isEqualTo(400);
+        assertThat(http.get("/books/search?sort=price&limit=1&cursor=not-a-cursor").statusCode()).isEqualTo(400);
+    }
+
+    // Follows X-Next-Cursor from the first page to the last and returns the ids in the order served.
+    private List<Long> walk(String query, int limit) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        for (int pages = 0; pages <= rows.size(); pages++) {
+            HttpResponse<byte[]> response = page(query + "&limit=" + limit + (cursor == null ? "" : "&cursor=" + cursor));
+            JsonNode books = objectMapper.readTree(response.body());
+            assertThat(books.size()).isLessThanOrEqualTo(limit);
+            books.forEach(book -> ids.add(book.get("id").asLong()));
+
+            cursor = response.headers().firstValue(catalogueController.NEXT_CURSOR_HEADER).orElse(null);
+            if (cursor == null) {
+                return ids;
+            }
+        }
+        throw new AssertionError("Cursor never reached the last page for " + query);
+    }
+
+    private static HttpResponse<byte[]> page(String query) {
+        return expect(http.get("/books/search?" + query), 200);
+    }
+
+    private static List<Long> expected(Predicate<Row> filter, Comparator<Row> order) {
+        return rows.stream().filter(filter).sorted(order).map(Row::id).toList();
+    }
+
+    // The order search promises: by key with NULLs last in either direction, ties broken by id in the same direction.
+    private static <T extends Comparable<? super T>> Comparator<Row> ascending(Function<Row, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.<T>naturalOrder())).thenComparing(Row::id);
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Row> descending(Function<Row, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.<T>reverseOrder()))
+                .thenComparing(Row::id, Comparator.reverseOrder());
+    }
+
+    private static List<Long> ids(String... titles) {
+        List<String> wanted = List.of(titles);
+        return rows.stream().filter(row -> wanted.contains(row.title())).map(Row::id).sorted().toList();
+    }
+
+    private static boolean authorStartsWith(Row row, String prefix) {
+        return row.author().toLowerCase(Locale.ROOT).startsWith(prefix);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void insert(JdbcTemplate jdbc, String title, String author, Double price) {
+        Long id = jdbc.queryForObject("""
+                INSERT INTO books (title, author, price, stock, book_identifier)
+                VALUES (?, ?, ?, 1, 'SEARCH-' || ?)
+                RETURNING id""", Long.class, title, author, price, title);
+        rows.add(new Row(id, title, author, price));
+    }
+}
@@ -0,0 +1,39 @@
+package com.tenex.rest.springboot4.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts an {@link AdmissionLimitingDataSource} in front of the connection pool.
+ * Meant for the {@code virtual-threads} profile, where request concurrency is no
+ * longer capped by the Tomcat thread pool and every blocked request would
+ * otherwise end up waiting inside Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employees.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public static BeanPostProcessor admissionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionLimitingDataSource) {
+                    return bean;
+                }
+                // Default to one permit per pooled connection so admitted callers never wait on Hikari.
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrent = environment.getProperty("employees.admission.max-concurrent", Integer.class, poolSize);
+                int maxQueued = environment.getProperty("employees.admission.max-queued", Integer.class, 1000);
+                Duration maxWait = environment.getProperty("employees.admission.max-wait", Duration.class, Duration.ofSeconds(2));
+                return new AdmissionLimitingDataSource(dataSource, maxConcurrent, maxQueued, maxWait);
+            }
+        };
+    }
+}
@@ -1,32 +1,199 @@
 package com.tenex.rest.springboot4.controller;
 
 
+import com.tenex.rest.springboot4.dto.BulkCreateResponse;
+import com.tenex.rest.springboot4.dto.BulkDeleteResponse;
+import com.tenex.rest.springboot4.dto.EmployeeChangesResponse;
+import com.tenex.rest.springboot4.dto.EmployeeLookupResponse;
+import com.tenex.rest.springboot4.dto.EmployeeSummary;
 import com.tenex.rest.springboot4.exception.BadRequestException;
 import com.tenex.rest.springboot4.exception.ResourceNotFoundException;
 import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.pagination.ChangePosition;
+import com.tenex.rest.springboot4.pagination.ContinuationToken;
 import com.tenex.rest.springboot4.repository.EmployeeRepository;
+import com.tenex.rest.springboot4.service.EmployeeBulkService;
+import com.tenex.rest.springboot4.service.EmployeeChanges;
+import com.tenex.rest.springboot4.service.EmployeeExportService;
+import com.tenex.rest.springboot4.service.EmployeeService;
+import com.tenex.rest.springboot4.stream.EmployeeStreamHub;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToLongFunction;
 
 @Validated
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/")
 public class EmployeeController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeExportService employeeExportService;
+
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmployeeStreamHub employeeStreamHub;
+
+    @Value("${employees.page.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${employees.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${employees.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    @Value("${employees.lookup.max-ids:1000}")
+    private int maxLookupIds;
+
         @GetMapping("/employees")
-        public List<Employee> getAllEmployees(){
-            return  employeeRepository.findAll();
+        public ResponseEntity<List<Employee>> getAllEmployees(@RequestParam(required = false) Long after,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer limit){
+            long afterId = afterId(after, cursor);
+            int pageSize = pageSize(limit);
+
+            // Fetch one extra row so we know whether another page exists without a COUNT query.
+            List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(pageSize + 1));
+            return page(employees, pageSize, Employee::getId);
 
         };
 
+    // Many specific employees in one round trip; POST /employees/lookup takes the same ids as a JSON array.
+    @GetMapping(value = "/employees", params = "ids")
+    public ResponseEntity<EmployeeLookupResponse> getEmployeesById(@RequestParam List<Long> ids) {
+        return lookupEmployees(ids);
+    }
+
+    @PostMapping("/employees/lookup")
+    public ResponseEntity<EmployeeLookupResponse> lookupEmployees(@RequestBody List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw BadRequestException.stackless("At least one id is required");
+        }
+        if (ids.size() > maxLookupIds) {
+            throw BadRequestException.stackless("At most " + maxLookupIds + " employees can be looked up per request");
+        }
+        if (ids.contains(null)) {
+            throw BadRequestException.stackless("ids must not contain null");
+        }
+        return ResponseEntity.ok(employeeService.findAllById(ids));
+    }
+
+    // Incremental sync: start without since, then pass back the returned next token on every poll.
+    @GetMapping("/employees/changes")
+    public ResponseEntity<EmployeeChangesResponse> getEmployeeChanges(@RequestParam(required = false) String since,
+                                                                      @RequestParam(required = false) Integer limit) {
+        ChangePosition watermark = since != null ? ChangePosition.decode(since) : ChangePosition.START;
+        return ResponseEntity.ok(employeeService.findChanges(watermark, pageSize(limit)));
+    }
+
+    // Live change events; EventSource reconnects send Last-Event-ID and resume from there.
+    @GetMapping(value = "/employees/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(@RequestParam(required = false) String since,
+                                            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        String resumeFrom = lastEventId != null ? lastEventId : since;
+        return employeeStreamHub.subscribe(resumeFrom != null ? ChangePosition.decode(resumeFrom) : null);
+    }
+
+    @GetMapping("/employees/summary")
+    public ResponseEntity<List<EmployeeSummary>> getEmployeeSummaries(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer limit) {
+        int pageSize = pageSize(limit);
+        return page(employeeService.findSummaries(afterId(after, cursor), pageSize + 1), pageSize, EmployeeSummary::id);
+    }
+
+    // rows holds up to pageSize + 1 entries; the extra one only signals that a next page exists.
+    private <T> ResponseEntity<List<T>> page(List<T> rows, int pageSize, ToLongFunction<T> idOf) {
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+
+        List<T> page = rows.subList(0, pageSize);
+        String next = ContinuationToken.encode(idOf.applyAsLong(page.get(pageSize - 1)));
+        String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after")
+                .replaceQueryParam("cursor", next)
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, next)
+                .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"")
+                .body(page);
+    }
+
+    private static long afterId(Long after, String cursor) {
+        return cursor != null ? ContinuationToken.decode(cursor) : (after != null ? after : 0L);
+    }
+
+    @PostMapping("/employees/bulk")
+    public ResponseEntity<BulkCreateResponse> createResources(@RequestBody List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            throw BadRequestException.stackless("At least one employee is required");
+        }
+        if (employees.size() > maxBulkItems) {
+            throw BadRequestException.stackless("At most " + maxBulkItems + " employees can be created per request");
+        }
+
+        BulkCreateResponse response = employeeBulkService.createAll(employees);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @GetMapping("/employees/export")
+    public void exportEmployees(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        switch (format) {
+            case "ndjson" -> {
+                response.setContentType("application/x-ndjson");
+                employeeExportService.exportNdjson(response.getOutputStream());
+            }
+            case "csv" -> {
+                response.setContentType("text/csv;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"");
+                employeeExportService.exportCsv(response.getOutputStream());
+            }
+            default -> throw BadRequestException.stackless("Unsupported export format: " + format);
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageLimit, maxPageLimit);
+        }
+        if (limit < 1) {
+            throw BadRequestException.stackless("limit must be at least 1");
+        }
+        return Math.min(limit, maxPageLimit);
+    }
+
 
 
     @PostMapping("/employees")
@@ -34,11 +201,11 @@ public class EmployeeController {
 
 
         if ((employee.getFirstName() == null && employee.getLastName() == null) && employee.getLastName() == null){
-            throw new BadRequestException("Failed to create employee");
+            throw BadRequestException.stackless("Failed to create employee");
 
 
         }else {
-            Employee savedEmployee = employeeRepository.save(employee);
+            Employee savedEmployee = employeeService.save(employee);
 
             return ResponseEntity.ok("Resource created successfully");
 
@@ -48,10 +215,24 @@ public class EmployeeController {
 
 
     @GetMapping("/employees/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id){
-        Employee employee = employeeRepository.findById(id).orElseThrow(()-> new ResourceNotFoundException("Employee of id "+id +" not found"));
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // A matching If-None-Match is answered from the version alone; the employee is never loaded.
+        Long version = null;
+        if (ifNoneMatch != null) {
+            version = employeeService.findVersion(id).orElseThrow(()-> ResourceNotFoundException.stackless("Employee of id "+id +" not found"));
+            if (!EntityTags.noneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(version)).build();
+            }
+        }
+
+        Employee employee = employeeService.findById(id).orElseThrow(()-> ResourceNotFoundException.stackless("Employee of id "+id +" not found"));
+        if (version != null && employee.getVersion() != version) {
+            // The cached copy predates a write made elsewhere; the client already holds a stale tag, so don't hand back another.
+            employee = employeeService.reload(id).orElseThrow(()-> ResourceNotFoundException.stackless("Employee of id "+id +" not found"));
+        }
 
-      return ResponseEntity.ok(employee);
+      return ResponseEntity.ok().eTag(EntityTags.of(employee.getVersion())).body(employee);
     };
 
 
@@ -60,17 +241,26 @@ public class EmployeeController {
     public ResponseEntity<String> deleteEmployee(@PathVariable Long id){
 
 
-            Optional<Employee> employee = employeeRepository.findById(id);
-            if(employee.isPresent()){
-                employeeRepository.deleteById(id);
-                return  ResponseEntity.ok("Employee of id " + id + " has been deleted");
+            // Throws ResourceNotFoundException when no row was deleted.
+            employeeService.deleteById(id);
+            return  ResponseEntity.ok("Employee of id " + id + " has been deleted");
+            //How do I trwo error in spring boot , in what scenarios do I throw errors and how , using what
 
+    }
 
-            }else{
-                throw new ResourceNotFoundException("Error:  Employee of id " + id + "could not be found");
-            }
-            //How do I trwo error in spring boot , in what scenarios do I throw errors and how , using what
+    @DeleteMapping(value = "/employees", params = "ids")
+    public ResponseEntity<BulkDeleteResponse> deleteEmployees(@RequestParam List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            throw BadRequestException.stackless("At least one id is required");
+        }
+        if (requested.size() > maxBulkItems) {
+            throw BadRequestException.stackless("At most " + maxBulkItems + " employees can be deleted per request");
+        }
 
+        List<Long> deleted = employeeService.deleteAllById(requested);
+        requested.removeAll(deleted);
+        return ResponseEntity.ok(new BulkDeleteResponse(deleted, List.copyOf(requested)));
     }
 
 
@@ -96,29 +286,34 @@ public class EmployeeController {
 //    }
 
 
+        // With If-Match the update only applies at that version; otherwise 412 and nothing is written.
         @PutMapping("/employees/{id}")
-        public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee updatedFields) {
-            Optional<Employee> optionalEmployee = employeeRepository.findById(id);
-
-            if (optionalEmployee.isPresent()) {
-                Employee employee = optionalEmployee.get();
-                if (updatedFields.getFirstName() != null) {
-                    employee.setFirstName(updatedFields.getFirstName());
-                }
-                if (updatedFields.getLastName() != null) {
-                    employee.setLastName(updatedFields.getLastName());
-                }
-                if (updatedFields.getEmailId() != null) {
-                    employee.setEmailId(updatedFields.getEmailId());
-                }
-
-                Employee savedEmployee = employeeRepository.save(employee);
-                return ResponseEntity.ok(savedEmployee);
+        public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee updatedFields,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+            Optional<Employee> savedEmployee = employeeService.update(id, EmployeeChanges.fromUpdatedFields(updatedFields),
+                    EntityTags.expectedVersion(ifMatch));
+
+            if (savedEmployee.isPresent()) {
+                return ResponseEntity.ok().eTag(EntityTags.of(savedEmployee.get().getVersion())).body(savedEmployee.get());
+            } else if (ifMatch != null && employeeService.findVersion(id).isPresent()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
             } else {
                 return ResponseEntity.notFound().build();
             }
         }
 
+    @PatchMapping(value = "/employees/{id}", consumes = {EmployeeChanges.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Employee> patchEmployee(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Employee> employee = employeeService.update(id, EmployeeChanges.fromMergePatch(patch), EntityTags.expectedVersion(ifMatch));
+        if (employee.isEmpty() && ifMatch != null && employeeService.findVersion(id).isPresent()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        Employee updated = employee.orElseThrow(() -> ResourceNotFoundException.stackless("Employee of id " + id + " not found"));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
+    }
+
 
 
 
@@ -0,0 +1,52 @@
+package com.tenex.rest.springboot4.controller;
+
+/**
+ * Strong ETags built from {@code Employee.version}, e.g. {@code "3"}.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match uses weak comparison, so W/"3" matches version 3 as well.
+    public static boolean noneMatch(String ifNoneMatch, long version) {
+        String current = of(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return false;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Version an If-Match header requires, or null when there is no header or it
+     * is {@code *}. If-Match uses strong comparison, so a weak or malformed tag
+     * yields -1, which no row ever has.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                return -1L;
+            }
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tenex.rest.springboot4.dto;
+
+import java.util.List;
+
+public record BulkCreateResponse(int created, int failed, List<Item> items) {
+
+    /**
+     * Outcome for the employee at {@code index} in the request body: either the
+     * generated {@code id} or the validation {@code errors}.
+     */
+    public record Item(int index, Long id, List<String> errors) {
+
+        public static Item created(int index, long id) {
+            return new Item(index, id, List.of());
+        }
+
+        public static Item failed(int index, List<String> errors) {
+            return new Item(index, null, errors);
+        }
+    }
+}
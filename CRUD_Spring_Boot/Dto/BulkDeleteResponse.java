@@ -0,0 +1,6 @@
+package com.tenex.rest.springboot4.dto;
+
+import java.util.List;
+
+public record BulkDeleteResponse(List<Long> deleted, List<Long> notFound) {
+}
@@ -0,0 +1,22 @@
+package com.tenex.rest.springboot4.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.pagination.ChangePosition;
+
+/**
+ * One entry of the change feed. {@code employee} is the current row for
+ * CREATED/UPDATED and null for DELETED.
+ */
+public record EmployeeChange(@JsonIgnore ChangePosition position, Type type, long id, Employee employee) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @JsonProperty("seq")
+    public long seq() {
+        return position.seq();
+    }
+}
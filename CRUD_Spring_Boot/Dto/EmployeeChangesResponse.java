@@ -0,0 +1,21 @@
+package com.tenex.rest.springboot4.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. Pass {@code next} back as {@code since}; it is
+ * returned even when {@code hasMore} is false, so the next poll starts here.
+ * {@code resyncRequired} means {@code since} is older than the tombstone
+ * retention window: deletes may have been missed, so the client must reload
+ * everything (start again without {@code since}).
+ */
+public record EmployeeChangesResponse(List<EmployeeChange> changes, String next, boolean hasMore, boolean resyncRequired) {
+
+    public EmployeeChangesResponse(List<EmployeeChange> changes, String next, boolean hasMore) {
+        this(changes, next, hasMore, false);
+    }
+
+    public static EmployeeChangesResponse resync() {
+        return new EmployeeChangesResponse(List.of(), null, false, true);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tenex.rest.springboot4.dto;
+
+import com.tenex.rest.springboot4.model.Employee;
+
+import java.util.List;
+
+public record EmployeeLookupResponse(int found, List<Long> notFound, List<Item> items) {
+
+    /**
+     * Result for one requested id, in request order: the employee, or
+     * {@code found=false} with no employee.
+     */
+    public record Item(long id, boolean found, Employee employee) {
+
+        public static Item found(Employee employee) {
+            return new Item(employee.getId(), true, employee);
+        }
+
+        public static Item notFound(long id) {
+            return new Item(id, false, null);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.tenex.rest.springboot4.dto;
+
+/**
+ * Read-only view of an employee for list endpoints. Built straight from the
+ * query result, so nothing enters the persistence context.
+ */
+public record EmployeeSummary(long id, String firstName, String lastName) {
+}
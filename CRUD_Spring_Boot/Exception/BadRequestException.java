@@ -7,13 +7,23 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException {
 
-
     public BadRequestException() {
         super("Bad request");
     }
     public BadRequestException(String message) {
         super(message);
     }
-}
 
+    protected BadRequestException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Every 400 this application raises is a client mistake described by its
+     * message, so the stack trace is never looked at.
+     */
+    public static BadRequestException stackless(String message) {
+        return new BadRequestException(message, false);
+    }
+}
 
@@ -0,0 +1,133 @@
+package com.tenex.rest.springboot4.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes {@link ErrorResponse}-shaped JSON straight into a byte array. The
+ * constant parts of each body are encoded once up front, so an error costs a
+ * single right-sized array instead of an ErrorResponse, a concatenated path
+ * string and a Jackson serialization pass.
+ */
+final class ErrorBodies {
+
+    static final byte[] BAD_REQUEST = statusPrefix(HttpStatus.BAD_REQUEST);
+    static final byte[] NOT_FOUND = statusPrefix(HttpStatus.NOT_FOUND);
+    static final byte[] INTERNAL_SERVER_ERROR =
+            ascii("{\"status\":500,\"message\":\"An internal server error occurred\"");
+    static final byte[] SERVICE_UNAVAILABLE =
+            ascii("{\"status\":503,\"message\":\"The database is busy, please retry\"");
+
+    private static final byte[] PATH = ascii(",\"path\":\"uri=");
+    private static final byte[] END = ascii("\"}");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    private ErrorBodies() {
+    }
+
+    /** Body with a fixed status and a per-request message. */
+    static byte[] render(byte[] statusPrefix, String message, String requestUri) {
+        int messageLength = message == null ? NULL.length : encodedLength(message) + 2;
+        byte[] body = new byte[statusPrefix.length + messageLength + PATH.length + encodedLength(requestUri) + END.length];
+
+        int pos = copy(statusPrefix, body, 0);
+        if (message == null) {
+            pos = copy(NULL, body, pos);
+        } else {
+            body[pos++] = '"';
+            pos = encode(message, body, pos);
+            body[pos++] = '"';
+        }
+        pos = copy(PATH, body, pos);
+        pos = encode(requestUri, body, pos);
+        copy(END, body, pos);
+        return body;
+    }
+
+    /** Body whose status and message are both fixed, e.g. {@link #INTERNAL_SERVER_ERROR}. */
+    static byte[] render(byte[] statusAndMessage, String requestUri) {
+        byte[] body = new byte[statusAndMessage.length + PATH.length + encodedLength(requestUri) + END.length];
+
+        int pos = copy(statusAndMessage, body, 0);
+        pos = copy(PATH, body, pos);
+        pos = encode(requestUri, body, pos);
+        copy(END, body, pos);
+        return body;
+    }
+
+    static byte[] statusPrefix(HttpStatus status) {
+        return ascii("{\"status\":" + status.value() + ",\"message\":");
+    }
+
+    // Must agree byte for byte with encode().
+    private static int encodedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // JSON string escaping plus UTF-8 encoding in one pass; unpaired surrogates become '?'.
+    private static int encode(String value, byte[] out, int pos) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out[pos++] = '\\';
+                out[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                out[pos++] = '\\';
+                out[pos++] = 'u';
+                out[pos++] = '0';
+                out[pos++] = '0';
+                out[pos++] = HEX[c >> 4];
+                out[pos++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[pos++] = '?';
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    private static int copy(byte[] source, byte[] target, int pos) {
+        System.arraycopy(source, 0, target, pos, source.length);
+        return pos + source.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
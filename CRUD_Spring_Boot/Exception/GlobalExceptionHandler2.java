@@ -1,25 +1,57 @@
 package com.tenex.rest.springboot4.exception;
 
-import com.tenex.rest.springboot4.exception.ErrorResponse;
-import com.tenex.rest.springboot4.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
 
 @ControllerAdvice
 public class GlobalExceptionHandler2 {
 
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders();
+    private static final HttpHeaders RETRY_HEADERS = retryHeaders();
+
+    // Bodies are pre-encoded ErrorResponse JSON (see ErrorBodies); a 404 storm never touches Jackson.
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage(), request.getDescription(false));
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex, HttpServletRequest request) {
+        byte[] body = ErrorBodies.render(ErrorBodies.NOT_FOUND, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(body, JSON_HEADERS, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<byte[]> handleBadRequestException(BadRequestException ex, HttpServletRequest request) {
+        byte[] body = ErrorBodies.render(ErrorBodies.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(body, JSON_HEADERS, HttpStatus.BAD_REQUEST);
+    }
+
+    // No connection could be had in time: either the admission limiter shed the request or the pool timed out.
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<byte[]> handleDatabaseBusyException(Exception ex, HttpServletRequest request) {
+        byte[] body = ErrorBodies.render(ErrorBodies.SERVICE_UNAVAILABLE, request.getRequestURI());
+        return new ResponseEntity<>(body, RETRY_HEADERS, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, WebRequest request) {
-        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "An internal server error occurred", request.getDescription(false));
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> handleGlobalException(Exception ex, HttpServletRequest request) {
+        byte[] body = ErrorBodies.render(ErrorBodies.INTERNAL_SERVER_ERROR, request.getRequestURI());
+        return new ResponseEntity<>(body, JSON_HEADERS, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static HttpHeaders retryHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return HttpHeaders.readOnlyHttpHeaders(headers);
     }
 }
@@ -8,7 +8,22 @@ public class ResourceNotFoundException extends RuntimeException{
 
     private static final long serialVersionUID = 1L;
 
+    // Shared instance for callers that have nothing request specific to say.
+    public static final ResourceNotFoundException PREALLOCATED = new ResourceNotFoundException("Resource not found", false);
+
     public ResourceNotFoundException(String message){
         super(message);
     }
+
+    protected ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * A not-found is an expected outcome, not a bug, so the stack trace is never
+     * looked at. Skipping fillInStackTrace makes throwing one much cheaper.
+     */
+    public static ResourceNotFoundException stackless(String message) {
+        return new ResourceNotFoundException(message, false);
+    }
 }
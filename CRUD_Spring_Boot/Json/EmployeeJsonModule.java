@@ -0,0 +1,124 @@
+package com.tenex.rest.springboot4.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tenex.rest.springboot4.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Hand-written Jackson (de)serializers for {@link Employee}. They replace the
+ * reflective BeanSerializer/BeanDeserializer with straight-line code and field
+ * names that are encoded once. Spring Boot registers every Module bean with the
+ * auto-configured ObjectMapper, so the MVC JSON message converter (and its
+ * recycled output buffers) uses them with no further wiring.
+ *
+ * Keep the property names in step with the Employee getters.
+ */
+@Component
+public class EmployeeJsonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL_ID = new SerializedString("emailId");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    public EmployeeJsonModule() {
+        super("EmployeeJsonModule");
+        addSerializer(Employee.class, new EmployeeSerializer());
+        addDeserializer(Employee.class, new EmployeeDeserializer());
+    }
+
+    static final class EmployeeSerializer extends StdSerializer<Employee> {
+
+        EmployeeSerializer() {
+            super(Employee.class);
+        }
+
+        @Override
+        public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(employee);
+            generator.writeFieldName(ID);
+            generator.writeNumber(employee.getId());
+            generator.writeFieldName(FIRST_NAME);
+            generator.writeString(employee.getFirstName());
+            generator.writeFieldName(LAST_NAME);
+            generator.writeString(employee.getLastName());
+            generator.writeFieldName(EMAIL_ID);
+            generator.writeString(employee.getEmailId());
+            generator.writeFieldName(VERSION);
+            generator.writeNumber(employee.getVersion());
+            generator.writeEndObject();
+        }
+    }
+
+    static final class EmployeeDeserializer extends StdDeserializer<Employee> {
+
+        EmployeeDeserializer() {
+            super(Employee.class);
+        }
+
+        @Override
+        public Employee deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (Employee) context.handleUnexpectedToken(Employee.class, parser);
+            }
+
+            Employee employee = new Employee();
+            for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+                parser.nextToken();
+                switch (name) {
+                    case "id" -> {
+                        Long id = readLong(parser, context);
+                        employee.setId(id == null ? 0L : id);
+                    }
+                    case "firstName" -> employee.setFirstName(readString(parser, context));
+                    case "lastName" -> employee.setLastName(readString(parser, context));
+                    case "emailId" -> employee.setEmailId(readString(parser, context));
+                    case "version" -> {
+                        Long version = readLong(parser, context);
+                        employee.setVersion(version == null ? 0L : version);
+                    }
+                    // Spring Boot disables FAIL_ON_UNKNOWN_PROPERTIES; match that.
+                    default -> parser.skipChildren();
+                }
+            }
+            return employee;
+        }
+    }
+
+    private static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+
+    private static Long readLong(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        // Anything else goes through Jackson's standard coercion rules.
+        return context.readValue(parser, Long.class);
+    }
+}
@@ -10,7 +10,9 @@ import jakarta.validation.constraints.Size;
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A pooled sequence (not IDENTITY) so Hibernate can batch inserts; see V2__Employee_Id_Pooled_Sequence.sql.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_id_seq")
+    @SequenceGenerator(name = "employees_id_seq", sequenceName = "employees_id_seq", allocationSize = 50)
     private  long id;
 
     @NotNull
@@ -27,6 +29,11 @@ public class Employee {
     @Column(name = "email_id")
     private  String emailId;
 
+    // Exposed as the ETag of GET /employees/{id}; checked against If-Match on PUT/PATCH.
+    @Version
+    @Column(name = "version")
+    private long version;
+
 
     public  Employee (){
 
@@ -70,4 +77,12 @@ public class Employee {
     public void setId(long id) {
         this.id = id;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
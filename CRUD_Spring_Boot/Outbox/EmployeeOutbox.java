@@ -0,0 +1,77 @@
+package com.tenex.rest.springboot4.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenex.rest.springboot4.model.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+
+/**
+ * Appends employee events to {@code employee_outbox}. Every method requires
+ * the caller's transaction, so an event is stored if and only if the write
+ * it describes commits.
+ */
+@Component
+public class EmployeeOutbox {
+
+    public static final String CREATED = "employee.created";
+    public static final String UPDATED = "employee.updated";
+    public static final String DELETED = "employee.deleted";
+
+    private static final String INSERT =
+            "INSERT INTO employee_outbox (aggregate_id, event_type, payload) VALUES (:aggregateId, :type, CAST(:payload AS jsonb))";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String type, Employee employee) {
+        jdbcTemplate.update(INSERT, params(type, employee));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String type, Collection<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, employees.stream().map(employee -> params(type, employee)).toArray(SqlParameterSource[]::new));
+    }
+
+    // One statement for any number of ids; the payload is built in SQL.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO employee_outbox (aggregate_id, event_type, payload) "
+                            + "SELECT id, ?, jsonb_build_object('id', id) FROM unnest(?::bigint[]) AS id");
+            statement.setString(1, DELETED);
+            statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+
+    private MapSqlParameterSource params(String type, Employee employee) {
+        try {
+            return new MapSqlParameterSource()
+                    .addValue("aggregateId", employee.getId())
+                    .addValue("type", type)
+                    .addValue("payload", objectMapper.writeValueAsString(employee));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize employee " + employee.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tenex.rest.springboot4.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one NDJSON line to {@code employees.outbox.file} and
+ * forces the file to disk once per batch. The default sink.
+ */
+@Component
+@ConditionalOnProperty(name = "employees.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    @Value("${employees.outbox.file:employee-events.ndjson}")
+    private String file;
+
+    private FileChannel channel;
+
+    @PostConstruct
+    void open() throws IOException {
+        channel = FileChannel.open(Path.of(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        StringBuilder lines = new StringBuilder(events.size() * 160);
+        for (OutboxEvent event : events) {
+            // payload is already JSON, so it is embedded as is.
+            lines.append("{\"id\":").append(event.id())
+                    .append(",\"aggregateId\":").append(event.aggregateId())
+                    .append(",\"type\":\"").append(event.type())
+                    .append("\",\"createdAt\":\"").append(event.createdAt())
+                    .append("\",\"payload\":").append(event.payload())
+                    .append("}\n");
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tenex.rest.springboot4.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded in-process broker stand-in ({@code employees.outbox.sink=memory}).
+ * A batch that does not fit is rejected whole, which leaves it in the outbox
+ * until a consumer has made room.
+ */
+@Component
+@ConditionalOnProperty(name = "employees.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    @Value("${employees.outbox.memory.capacity:100000}")
+    private int capacity;
+
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        if (events.size() + batch.size() > capacity) {
+            throw new IllegalStateException("In-memory outbox sink is full");
+        }
+        events.addAll(batch);
+    }
+
+    /** Removes and returns up to {@code max} events, oldest first. */
+    public synchronized List<OutboxEvent> drain(int max) {
+        List<OutboxEvent> drained = new ArrayList<>(Math.min(max, events.size()));
+        while (drained.size() < max && !events.isEmpty()) {
+            drained.add(events.poll());
+        }
+        return drained;
+    }
+
+    public synchronized int size() {
+        return events.size();
+    }
+}
@@ -0,0 +1,10 @@
+package com.tenex.rest.springboot4.outbox;
+
+import java.time.Instant;
+
+/**
+ * One row of {@code employee_outbox}. {@code payload} is the event body as
+ * JSON text: the employee for created/updated, {@code {"id":..}} for deleted.
+ */
+public record OutboxEvent(long id, long aggregateId, String type, String payload, Instant createdAt) {
+}
@@ -0,0 +1,124 @@
+package com.tenex.rest.springboot4.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains {@code employee_outbox} into the {@link OutboxSink}.
+ *
+ * - Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, published, and
+ *   deleted in one transaction, so any number of nodes can relay at once
+ *   without double-publishing a committed batch. Events keep id order within a
+ *   batch, but not across nodes.
+ * - A poll keeps taking full batches (up to {@code max-batches-per-poll}) so a
+ *   backlog drains without waiting for the next tick.
+ * - {@code employees.outbox.relayed} counts published events (its rate is
+ *   events/s); {@code employees.outbox.lag} is the time from append to publish.
+ */
+@Component
+@ConditionalOnProperty(name = "employees.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CLAIM_BATCH = """
+            SELECT id, aggregate_id, event_type, payload::text AS payload, created_at
+            FROM employee_outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getLong("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant());
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employees.outbox.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${employees.outbox.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter relayed;
+    private Timer lag;
+    private Timer publishTime;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        relayed = meterRegistry.counter("employees.outbox.relayed");
+        lag = Timer.builder("employees.outbox.lag").publishPercentiles(0.5, 0.99).register(meterRegistry);
+        publishTime = Timer.builder("employees.outbox.publish").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${employees.outbox.poll-ms:200}")
+    public void relay() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                Integer count = transactionTemplate.execute(status -> relayBatch());
+                if (count == null || count < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay failed, will retry: {}", ex.toString());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_BATCH, Map.of("limit", batchSize), ROW_MAPPER);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        publishTime.record(() -> sink.publish(events));
+
+        Long[] ids = events.stream().map(OutboxEvent::id).toArray(Long[]::new);
+        jdbcTemplate.getJdbcTemplate().update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM employee_outbox WHERE id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+
+        Instant now = Instant.now();
+        for (OutboxEvent event : events) {
+            lag.record(Duration.between(event.createdAt(), now));
+        }
+        relayed.increment(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,13 @@
+package com.tenex.rest.springboot4.outbox;
+
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} publishes events. A batch is deleted from the
+ * outbox only after {@link #publish} returns, so delivery is at-least-once and
+ * a failed batch is retried on the next poll.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,48 @@
+package com.tenex.rest.springboot4.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenex.rest.springboot4.model.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of {@link EmployeeOutbox} for the reactive stack. Callers
+ * run it inside the same reactive transaction as the write it describes.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveEmployeeOutbox {
+
+    private static final String INSERT =
+            "INSERT INTO employee_outbox (aggregate_id, event_type, payload) VALUES (:aggregateId, :type, CAST(:payload AS jsonb))";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public Mono<Employee> append(String type, Employee employee) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(employee))
+                .onErrorMap(JsonProcessingException.class,
+                        ex -> new IllegalStateException("Could not serialize employee " + employee.getId(), ex))
+                .flatMap(payload -> insert(employee.getId(), type, payload))
+                .thenReturn(employee);
+    }
+
+    public Mono<Void> appendDeleted(long id) {
+        return insert(id, EmployeeOutbox.DELETED, "{\"id\":" + id + "}");
+    }
+
+    private Mono<Void> insert(long id, String type, String payload) {
+        return databaseClient.sql(INSERT)
+                .bind("aggregateId", id)
+                .bind("type", type)
+                .bind("payload", payload)
+                .then();
+    }
+}
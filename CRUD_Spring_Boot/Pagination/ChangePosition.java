@@ -0,0 +1,50 @@
+package com.tenex.rest.springboot4.pagination;
+
+import com.tenex.rest.springboot4.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Position in the employee change feed: the id of the transaction that wrote
+ * a change, then its change seq. Clients see it only as an opaque token.
+ */
+public record ChangePosition(long xid, long seq) implements Comparable<ChangePosition> {
+
+    /** Before every change; reading from here is a full sync. */
+    public static final ChangePosition START = new ChangePosition(0, 0);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Override
+    public int compareTo(ChangePosition other) {
+        int byXid = Long.compare(xid, other.xid);
+        return byXid != 0 ? byXid : Long.compare(seq, other.seq);
+    }
+
+    public boolean isAfter(ChangePosition other) {
+        return compareTo(other) > 0;
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString(ByteBuffer.allocate(2 * Long.BYTES).putLong(xid).putLong(seq).array());
+    }
+
+    public static ChangePosition decode(String token) {
+        try {
+            byte[] bytes = DECODER.decode(token);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (bytes.length == Long.BYTES) {
+                // Seq-only token from before V6; replays the feed from the start.
+                return new ChangePosition(0, buffer.getLong());
+            }
+            if (bytes.length != 2 * Long.BYTES) {
+                throw BadRequestException.stackless("Invalid cursor");
+            }
+            return new ChangePosition(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException ex) {
+            throw BadRequestException.stackless("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tenex.rest.springboot4.pagination;
+
+import com.tenex.rest.springboot4.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. Clients should treat the
+ * value as a black box and pass it back unchanged as {@code cursor}.
+ */
+public final class ContinuationToken {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(long key) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(key).array());
+    }
+
+    public static long decode(String token) {
+        try {
+            byte[] bytes = DECODER.decode(token);
+            if (bytes.length != Long.BYTES) {
+                throw BadRequestException.stackless("Invalid cursor");
+            }
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IllegalArgumentException ex) {
+            throw BadRequestException.stackless("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.tenex.rest.springboot4.reactive;
+
+import com.tenex.rest.springboot4.controller.EmployeeController;
+import com.tenex.rest.springboot4.controller.EntityTags;
+import com.tenex.rest.springboot4.dto.EmployeeLookupResponse;
+import com.tenex.rest.springboot4.exception.BadRequestException;
+import com.tenex.rest.springboot4.exception.ResourceNotFoundException;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.outbox.EmployeeOutbox;
+import com.tenex.rest.springboot4.outbox.ReactiveEmployeeOutbox;
+import com.tenex.rest.springboot4.pagination.ContinuationToken;
+import com.tenex.rest.springboot4.service.EmployeeChanges;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reactive counterpart of {@link EmployeeController}, served from
+ * {@link ReactiveEmployeeRepository}. Paging, lookup, single-employee reads
+ * and writes, and the NDJSON export take the same parameters and return the
+ * same status codes and bodies. It differs from the MVC stack in these ways:
+ * <ul>
+ *   <li>Bulk create and delete ({@code POST /employees/bulk},
+ *       {@code DELETE /employees?ids=}), {@code /employees/summary},
+ *       {@code /employees/changes}, {@code /employees/stream} and the CSV
+ *       export are MVC only. {@code DELETE ?ids=} answers 400 here rather than
+ *       falling through to another route.</li>
+ *   <li>Creation runs full bean validation and answers 400 for any violation.
+ *       The MVC controller only rejects an employee with no name and leaves
+ *       the remaining constraints to JPA, which fails at flush time.</li>
+ *   <li>Reads always go to the database; there is no per-instance cache.</li>
+ *   <li>ETags, If-None-Match on reads and If-Match on updates behave as in
+ *       the MVC stack.</li>
+ * </ul>
+ */
+@Component
+@Profile("reactive")
+public class EmployeeHandler {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> PATCH_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private static final ParameterizedTypeReference<List<Long>> ID_LIST_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ReactiveEmployeeOutbox outbox;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    // Each write and its outbox event commit together, as with the MVC stack's @Transactional service.
+    private TransactionalOperator transactional;
+
+    @Value("${employees.page.default-limit:100}")
+    private int defaultPageLimit;
+
+    @Value("${employees.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${employees.lookup.max-ids:1000}")
+    private int maxLookupIds;
+
+    @PostConstruct
+    void init() {
+        transactional = TransactionalOperator.create(transactionManager);
+    }
+
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        long afterId = request.queryParam("cursor").map(ContinuationToken::decode)
+                .orElseGet(() -> request.queryParam("after").map(value -> parseLong("after", value)).orElse(0L));
+        int pageSize = pageSize(request.queryParam("limit"));
+
+        return employeeRepository.findByIdGreaterThan(afterId, pageSize + 1)
+                .collectList()
+                .flatMap(employees -> {
+                    if (employees.size() <= pageSize) {
+                        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(employees);
+                    }
+
+                    List<Employee> page = employees.subList(0, pageSize);
+                    String next = ContinuationToken.encode(page.get(pageSize - 1).getId());
+                    String nextLink = request.uriBuilder()
+                            .replaceQueryParam("after")
+                            .replaceQueryParam("cursor", next)
+                            .replaceQueryParam("limit", pageSize)
+                            .build()
+                            .toString();
+                    return ServerResponse.ok()
+                            .header(EmployeeController.NEXT_CURSOR_HEADER, next)
+                            .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(page);
+                });
+    }
+
+    // Accepts ids=1,2 as well as repeated ids=1&ids=2, like the MVC @RequestParam List<Long>.
+    public Mono<ServerResponse> getEmployeesById(ServerRequest request) {
+        List<Long> ids = new ArrayList<>();
+        for (String value : request.queryParams().getOrDefault("ids", List.of())) {
+            for (String id : value.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(parseLong("ids", id.trim()));
+                }
+            }
+        }
+        return lookup(ids);
+    }
+
+    public Mono<ServerResponse> lookupEmployees(ServerRequest request) {
+        return request.bodyToMono(ID_LIST_TYPE)
+                .defaultIfEmpty(List.of())
+                .flatMap(this::lookup);
+    }
+
+    private Mono<ServerResponse> lookup(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.error(BadRequestException.stackless("At least one id is required"));
+        }
+        if (ids.size() > maxLookupIds) {
+            return Mono.error(BadRequestException.stackless("At most " + maxLookupIds + " employees can be looked up per request"));
+        }
+        if (ids.contains(null)) {
+            return Mono.error(BadRequestException.stackless("ids must not contain null"));
+        }
+        return employeeRepository.findAllById(new LinkedHashSet<>(ids))
+                .collectMap(Employee::getId)
+                .map(employees -> {
+                    List<EmployeeLookupResponse.Item> items = new ArrayList<>(ids.size());
+                    List<Long> notFound = new ArrayList<>();
+                    for (Long id : ids) {
+                        Employee employee = employees.get(id);
+                        if (employee != null) {
+                            items.add(EmployeeLookupResponse.Item.found(employee));
+                        } else {
+                            items.add(EmployeeLookupResponse.Item.notFound(id));
+                            notFound.add(id);
+                        }
+                    }
+                    return new EmployeeLookupResponse(items.size() - notFound.size(), notFound, items);
+                })
+                .flatMap(response -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response));
+    }
+
+    // NDJSON is written element by element, so a slow client slows the database read instead of filling the heap.
+    public Mono<ServerResponse> exportEmployees(ServerRequest request) {
+        String format = request.queryParam("format").orElse("ndjson");
+        if (!format.equals("ndjson")) {
+            return Mono.error(BadRequestException.stackless("Unsupported export format: " + format));
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeRepository.streamAll(), Employee.class);
+    }
+
+    public Mono<ServerResponse> createResource(ServerRequest request) {
+        return request.bodyToMono(Employee.class)
+                .switchIfEmpty(Mono.error(BadRequestException.stackless("Failed to create employee")))
+                .flatMap(employee -> {
+                    Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+                    if (!violations.isEmpty()) {
+                        return Mono.error(BadRequestException.stackless("Failed to create employee"));
+                    }
+                    return employeeRepository.insert(employee)
+                            .flatMap(saved -> outbox.append(EmployeeOutbox.CREATED, saved))
+                            .as(transactional::transactional);
+                })
+                .flatMap(saved -> ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue("Resource created successfully"));
+    }
+
+    // A matching If-None-Match is answered from the version alone; the employee is never loaded.
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+        long id = parseLong("id", request.pathVariable("id"));
+        Mono<ServerResponse> full = employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.stackless("Employee of id " + id + " not found")))
+                .flatMap(this::ok);
+
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return full;
+        }
+        return employeeRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.stackless("Employee of id " + id + " not found")))
+                .flatMap(version -> EntityTags.noneMatch(ifNoneMatch, version)
+                        ? full
+                        : ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(version)).build());
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        long id = parseLong("id", request.pathVariable("id"));
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return request.bodyToMono(Employee.class)
+                .map(EmployeeChanges::fromUpdatedFields)
+                .flatMap(changes -> update(id, changes, EntityTags.expectedVersion(ifMatch)))
+                .flatMap(this::ok)
+                .switchIfEmpty(Mono.defer(() -> preconditionFailedOr(id, ifMatch, ServerResponse.notFound().build())));
+    }
+
+    public Mono<ServerResponse> patchEmployee(ServerRequest request) {
+        long id = parseLong("id", request.pathVariable("id"));
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return request.bodyToMono(PATCH_TYPE)
+                .map(EmployeeChanges::fromMergePatch)
+                .flatMap(changes -> update(id, changes, EntityTags.expectedVersion(ifMatch)))
+                .flatMap(this::ok)
+                .switchIfEmpty(Mono.defer(() -> preconditionFailedOr(id, ifMatch,
+                        Mono.error(ResourceNotFoundException.stackless("Employee of id " + id + " not found")))));
+    }
+
+    // An update that matched no row: 412 if the employee exists under If-Match, otherwise notFound.
+    private Mono<ServerResponse> preconditionFailedOr(long id, String ifMatch, Mono<ServerResponse> notFound) {
+        if (ifMatch == null) {
+            return notFound;
+        }
+        return employeeRepository.findVersionById(id)
+                .flatMap(version -> ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build())
+                .switchIfEmpty(notFound);
+    }
+
+    private Mono<ServerResponse> ok(Employee employee) {
+        return ServerResponse.ok()
+                .eTag(EntityTags.of(employee.getVersion()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee);
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        long id = parseLong("id", request.pathVariable("id"));
+        return employeeRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.just(deleted) : outbox.appendDeleted(id).thenReturn(deleted))
+                .as(transactional::transactional)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(ResourceNotFoundException.stackless("Error:  Employee of id " + id + " could not be found"))
+                        : ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue("Employee of id " + id + " has been deleted"));
+    }
+
+    public Mono<ServerResponse> deleteEmployees(ServerRequest request) {
+        return Mono.error(BadRequestException.stackless("Bulk delete is not supported by the reactive API; delete employees one at a time"));
+    }
+
+    private Mono<Employee> update(long id, Map<String, Object> changes, Long expectedVersion) {
+        EmployeeChanges.validate(validator, changes);
+        if (changes.isEmpty()) {
+            return employeeRepository.findById(id)
+                    .filter(employee -> expectedVersion == null || employee.getVersion() == expectedVersion);
+        }
+        return employeeRepository.updateColumns(id, changes, expectedVersion)
+                .flatMap(updated -> outbox.append(EmployeeOutbox.UPDATED, updated))
+                .as(transactional::transactional);
+    }
+
+    private int pageSize(Optional<String> limit) {
+        if (limit.isEmpty()) {
+            return Math.min(defaultPageLimit, maxPageLimit);
+        }
+        long requested = parseLong("limit", limit.get());
+        if (requested < 1) {
+            throw BadRequestException.stackless("limit must be at least 1");
+        }
+        return (int) Math.min(requested, maxPageLimit);
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw BadRequestException.stackless(name + " must be a number");
+        }
+    }
+}
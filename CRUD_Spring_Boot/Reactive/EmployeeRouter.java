@@ -0,0 +1,52 @@
+package com.tenex.rest.springboot4.reactive;
+
+import com.tenex.rest.springboot4.exception.BadRequestException;
+import com.tenex.rest.springboot4.exception.ErrorResponse;
+import com.tenex.rest.springboot4.exception.ResourceNotFoundException;
+import com.tenex.rest.springboot4.service.EmployeeChanges;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+
+@Configuration
+@Profile("reactive")
+public class EmployeeRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/v1/employees/export", handler::exportEmployees)
+                .GET("/api/v1/employees/{id}", handler::getEmployeeById)
+                .GET("/api/v1/employees", queryParam("ids", ids -> true), handler::getEmployeesById)
+                .GET("/api/v1/employees", handler::getAllEmployees)
+                .POST("/api/v1/employees/lookup", handler::lookupEmployees)
+                .POST("/api/v1/employees", handler::createResource)
+                .PUT("/api/v1/employees/{id}", handler::updateEmployee)
+                .PATCH("/api/v1/employees/{id}",
+                        contentType(MediaType.parseMediaType(EmployeeChanges.MERGE_PATCH_JSON_VALUE), MediaType.APPLICATION_JSON),
+                        handler::patchEmployee)
+                .DELETE("/api/v1/employees/{id}", handler::deleteEmployee)
+                .DELETE("/api/v1/employees", queryParam("ids", ids -> true), handler::deleteEmployees)
+                // Defer so exceptions thrown while a handler builds its pipeline are mapped too.
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(ResourceNotFoundException.class, ex -> error(HttpStatus.NOT_FOUND, ex, request))
+                        .onErrorResume(BadRequestException.class, ex -> error(HttpStatus.BAD_REQUEST, ex, request)))
+                .build();
+    }
+
+    // Same body as GlobalExceptionHandler2 produces for the MVC stack.
+    private static Mono<ServerResponse> error(HttpStatus status, RuntimeException ex, ServerRequest request) {
+        ErrorResponse body = new ErrorResponse(status.value(), ex.getMessage(), "uri=" + request.path());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
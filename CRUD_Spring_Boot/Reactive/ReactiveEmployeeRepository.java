@@ -0,0 +1,128 @@
+package com.tenex.rest.springboot4.reactive;
+
+import com.tenex.rest.springboot4.model.Employee;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Non-blocking access to the {@code employees} table over R2DBC. Employee is a
+ * JPA entity, so rows are mapped by hand with plain SQL rather than through
+ * Spring Data R2DBC's annotation-based mapping.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email_id, version";
+
+    private static final Map<String, String> UPDATABLE_COLUMNS = Map.of(
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "emailId", "email_id");
+
+    private static final int FETCH_SIZE = 500;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<Employee> findByIdGreaterThan(long id, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM employees WHERE id > :id ORDER BY id LIMIT :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    // Rows are pulled from the server only as fast as the subscriber requests them.
+    public Flux<Employee> streamAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM employees ORDER BY id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    // One = ANY(:ids) query, in no particular order; missing ids are simply absent.
+    public Flux<Employee> findAllById(Collection<Long> ids) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM employees WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(new Long[0]))
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        return databaseClient.sql("INSERT INTO employees (first_name, last_name, email_id) "
+                        + "VALUES (:firstName, :lastName, :emailId) RETURNING " + COLUMNS)
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("emailId", employee.getEmailId())
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Long> findVersionById(long id) {
+        return databaseClient.sql("SELECT version FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    // With expectedVersion the row is only updated while it is still at that version; otherwise nothing is emitted.
+    public Mono<Employee> updateColumns(long id, Map<String, Object> values, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE employees SET ");
+        String separator = "";
+        for (String property : values.keySet()) {
+            String column = UPDATABLE_COLUMNS.get(property);
+            if (column == null) {
+                return Mono.error(new IllegalArgumentException("Unknown employee property: " + property));
+            }
+            sql.append(separator).append(column).append(" = :").append(property);
+            separator = ", ";
+        }
+        sql.append(", version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :expectedVersion");
+        }
+        sql.append(" RETURNING ").append(COLUMNS);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("id", id);
+        if (expectedVersion != null) {
+            spec = spec.bind("expectedVersion", expectedVersion);
+        }
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            spec = spec.bind(entry.getKey(), entry.getValue());
+        }
+        return spec.map(ReactiveEmployeeRepository::toEmployee).one();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql("DELETE FROM employees WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Employee toEmployee(Row row) {
+        Employee employee = new Employee();
+        employee.setId(row.get("id", Long.class));
+        employee.setFirstName(row.get("first_name", String.class));
+        employee.setLastName(row.get("last_name", String.class));
+        employee.setEmailId(row.get("email_id", String.class));
+        employee.setVersion(row.get("version", Long.class));
+        return employee;
+    }
+}
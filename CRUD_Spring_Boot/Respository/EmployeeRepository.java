@@ -1,9 +1,44 @@
 package com.tenex.rest.springboot4.repository;
 
+import com.tenex.rest.springboot4.dto.EmployeeSummary;
 import com.tenex.rest.springboot4.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, EmployeeRepositoryCustom {
+
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @Query("select new com.tenex.rest.springboot4.dto.EmployeeSummary(e.id, e.firstName, e.lastName) from Employee e where e.id > :id order by e.id")
+    List<EmployeeSummary> findSummariesByIdGreaterThan(@Param("id") long id, Pageable pageable);
+
+    // Must be consumed inside a transaction: the Postgres driver only uses a cursor when autocommit is off.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllByOrderByIdAsc();
+
+    // Answers conditional GETs without loading or serializing the entity.
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // Unlike deleteById this does not load the entity first; returns the number of rows deleted.
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteEmployeeById(@Param("id") long id);
 }
@@ -0,0 +1,55 @@
+package com.tenex.rest.springboot4.repository;
+
+import com.tenex.rest.springboot4.dto.EmployeeChange;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.pagination.ChangePosition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Updates only the given properties (keyed by {@link Employee} property name)
+     * in a single statement, bumps the version and returns the updated row. Empty
+     * if no row has that id or, when {@code expectedVersion} is given, the row is
+     * at a different version.
+     */
+    Optional<Employee> updateColumns(long id, Map<String, Object> values, Long expectedVersion);
+
+    /**
+     * Deletes every employee in {@code ids} with one statement and returns the
+     * ids that actually existed.
+     */
+    List<Long> deleteAllByIdReturningIds(Collection<Long> ids);
+
+    /**
+     * Loads every employee in {@code ids} with one {@code = ANY(?)} query, in no
+     * particular order; missing ids are simply absent.
+     */
+    List<Employee> findAllByIdArray(Collection<Long> ids);
+
+    /**
+     * Inserts, updates and deletes positioned after {@code since}, in position
+     * order. Only changes from transactions older than the oldest one still
+     * running are returned, so a transaction that commits late is never skipped.
+     */
+    List<EmployeeChange> findChangesSince(ChangePosition since, int limit);
+
+    /**
+     * Position a reader should start from to see every later change and none
+     * of the earlier ones.
+     */
+    ChangePosition findChangeHead();
+
+    /** Highest position whose tombstone has been pruned. */
+    ChangePosition findChangeHorizon();
+
+    /**
+     * Deletes tombstones older than {@code retentionMillis} and moves the
+     * horizon past them; returns the number deleted.
+     */
+    int pruneTombstones(long retentionMillis);
+}
@@ -0,0 +1,169 @@
+package com.tenex.rest.springboot4.repository;
+
+import com.tenex.rest.springboot4.dto.EmployeeChange;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.pagination.ChangePosition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "emailId", "email_id");
+
+    private static final String RETURNING = " RETURNING id, first_name, last_name, email_id, version";
+
+    static final RowMapper<Employee> ROW_MAPPER = (rs, rowNum) -> {
+        Employee employee = new Employee();
+        employee.setId(rs.getLong("id"));
+        employee.setFirstName(rs.getString("first_name"));
+        employee.setLastName(rs.getString("last_name"));
+        employee.setEmailId(rs.getString("email_id"));
+        employee.setVersion(rs.getLong("version"));
+        return employee;
+    };
+
+    // Every transaction below pg_snapshot_xmin has finished, so nothing can still appear behind a row served from there.
+    private static final String CHANGES_SINCE = """
+            WITH snapshot AS (SELECT pg_snapshot_xmin(pg_current_snapshot()) AS xmin),
+                 since AS (SELECT CAST(CAST(:sinceXid AS text) AS xid8) AS xid, CAST(:sinceSeq AS bigint) AS seq)
+            SELECT change_xid::text::bigint AS change_xid, change_seq, id, first_name, last_name, email_id, version,
+                   (created_xid, created_seq) > (since.xid, since.seq) AS created, false AS deleted
+            FROM employees, snapshot, since
+            WHERE (change_xid, change_seq) > (since.xid, since.seq) AND change_xid < snapshot.xmin
+            UNION ALL
+            SELECT change_xid::text::bigint, change_seq, id, NULL, NULL, NULL, NULL, false, true
+            FROM employee_tombstones, snapshot, since
+            WHERE (change_xid, change_seq) > (since.xid, since.seq) AND change_xid < snapshot.xmin
+            ORDER BY change_xid, change_seq
+            LIMIT :limit""";
+
+    private static final String CHANGE_HORIZON =
+            "SELECT change_xid::text::bigint AS change_xid, change_seq FROM employee_change_horizon WHERE id = 1";
+
+    private static final String PRUNE_TOMBSTONES = """
+            WITH pruned AS (
+                DELETE FROM employee_tombstones
+                WHERE deleted_at < clock_timestamp() - :retentionMillis * interval '1 millisecond'
+                RETURNING change_xid, change_seq),
+            latest AS (
+                SELECT change_xid, change_seq FROM pruned ORDER BY change_xid DESC, change_seq DESC LIMIT 1),
+            moved AS (
+                UPDATE employee_change_horizon h SET change_xid = latest.change_xid, change_seq = latest.change_seq
+                FROM latest
+                WHERE h.id = 1 AND (latest.change_xid, latest.change_seq) > (h.change_xid, h.change_seq))
+            SELECT count(*) FROM pruned""";
+
+    private static final RowMapper<ChangePosition> POSITION_MAPPER =
+            (rs, rowNum) -> new ChangePosition(rs.getLong("change_xid"), rs.getLong("change_seq"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Employee> updateColumns(long id, Map<String, Object> values, Long expectedVersion) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be updated");
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE employees SET ");
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        String separator = "";
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            // Column names come from the whitelist only, never from the caller.
+            String column = COLUMNS.get(entry.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown employee property: " + entry.getKey());
+            }
+            sql.append(separator).append(column).append(" = :").append(entry.getKey());
+            params.addValue(entry.getKey(), entry.getValue());
+            separator = ", ";
+        }
+        sql.append(", version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :expectedVersion");
+            params.addValue("expectedVersion", expectedVersion);
+        }
+        sql.append(RETURNING);
+
+        List<Employee> rows = jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    @Override
+    public List<Long> deleteAllByIdReturningIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.getJdbcTemplate().query(
+                withIdArray("DELETE FROM employees WHERE id = ANY(?) RETURNING id", ids),
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public List<Employee> findAllByIdArray(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.getJdbcTemplate().query(
+                withIdArray("SELECT id, first_name, last_name, email_id, version FROM employees WHERE id = ANY(?)", ids),
+                ROW_MAPPER);
+    }
+
+    @Override
+    public List<EmployeeChange> findChangesSince(ChangePosition since, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sinceXid", since.xid())
+                .addValue("sinceSeq", since.seq())
+                .addValue("limit", limit);
+        return jdbcTemplate.query(CHANGES_SINCE, params, (rs, rowNum) -> {
+            ChangePosition position = POSITION_MAPPER.mapRow(rs, rowNum);
+            if (rs.getBoolean("deleted")) {
+                return new EmployeeChange(position, EmployeeChange.Type.DELETED, rs.getLong("id"), null);
+            }
+            // Created after the client's watermark means the client has never seen it.
+            EmployeeChange.Type type = rs.getBoolean("created") ? EmployeeChange.Type.CREATED : EmployeeChange.Type.UPDATED;
+            Employee employee = ROW_MAPPER.mapRow(rs, rowNum);
+            return new EmployeeChange(position, type, employee.getId(), employee);
+        });
+    }
+
+    // Seq 0 sorts before every change of the xmin transaction, which is still running.
+    @Override
+    public ChangePosition findChangeHead() {
+        Long xmin = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+        return new ChangePosition(xmin, 0);
+    }
+
+    @Override
+    public ChangePosition findChangeHorizon() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(CHANGE_HORIZON, POSITION_MAPPER);
+    }
+
+    @Override
+    public int pruneTombstones(long retentionMillis) {
+        Integer pruned = jdbcTemplate.queryForObject(PRUNE_TOMBSTONES, Map.of("retentionMillis", retentionMillis), Integer.class);
+        return pruned != null ? pruned : 0;
+    }
+
+    // Binds the ids as a single bigint[] so the statement text is the same for any number of ids.
+    private static PreparedStatementCreator withIdArray(String sql, Collection<Long> ids) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        };
+    }
+}
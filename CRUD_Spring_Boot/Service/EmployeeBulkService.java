@@ -0,0 +1,77 @@
+package com.tenex.rest.springboot4.service;
+
+import com.tenex.rest.springboot4.dto.BulkCreateResponse;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.outbox.EmployeeOutbox;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class EmployeeBulkService {
+
+    // Keep in step with hibernate.jdbc.batch_size and the sequence allocationSize on Employee.
+    static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeOutbox outbox;
+
+    /**
+     * Validates every employee in one pass and inserts the valid ones in JDBC
+     * batches. Invalid items are reported individually and do not stop the rest.
+     */
+    @Transactional
+    public BulkCreateResponse createAll(List<Employee> employees) {
+        List<BulkCreateResponse.Item> items = new ArrayList<>(employees.size());
+        List<Employee> created = new ArrayList<>();
+
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            if (employee == null) {
+                items.add(BulkCreateResponse.Item.failed(index, List.of("employee must not be null")));
+                continue;
+            }
+
+            Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+            if (!violations.isEmpty()) {
+                List<String> errors = new ArrayList<>(violations.size());
+                for (ConstraintViolation<Employee> violation : violations) {
+                    errors.add(violation.getPropertyPath() + " " + violation.getMessage());
+                }
+                items.add(BulkCreateResponse.Item.failed(index, errors));
+                continue;
+            }
+
+            // Bulk create never updates, so ignore any client supplied id and version.
+            employee.setId(0);
+            employee.setVersion(0);
+            entityManager.persist(employee);
+            items.add(BulkCreateResponse.Item.created(index, employee.getId()));
+
+            created.add(employee);
+            if (created.size() % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        outbox.appendAll(EmployeeOutbox.CREATED, created);
+
+        return new BulkCreateResponse(created.size(), employees.size() - created.size(), items);
+    }
+}
@@ -0,0 +1,37 @@
+package com.tenex.rest.springboot4.service;
+
+import com.tenex.rest.springboot4.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Prunes change feed tombstones older than
+ * {@code employees.changes.tombstone-retention-ms} (7 days by default). Feed
+ * readers whose watermark is older than the newest pruned tombstone are told
+ * to resync instead of silently missing deletes.
+ */
+@Component
+public class EmployeeChangeRetention {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeRetention.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${employees.changes.tombstone-retention-ms:604800000}")
+    private long retentionMillis;
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${employees.changes.tombstone-prune-ms:3600000}")
+    public void pruneTombstones() {
+        int pruned = employeeRepository.pruneTombstones(retentionMillis);
+        if (pruned > 0) {
+            log.info("Pruned {} employee tombstones", pruned);
+        }
+    }
+}
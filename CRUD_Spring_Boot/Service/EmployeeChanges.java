@@ -0,0 +1,76 @@
+package com.tenex.rest.springboot4.service;
+
+import com.tenex.rest.springboot4.exception.BadRequestException;
+import com.tenex.rest.springboot4.model.Employee;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds and checks the property-name to value maps used for partial employee
+ * updates, so the MVC and reactive stacks accept exactly the same PUT and PATCH
+ * bodies.
+ */
+public final class EmployeeChanges {
+
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("firstName", "lastName", "emailId");
+
+    private EmployeeChanges() {
+    }
+
+    /** PUT semantics: every non-null field of {@code updatedFields} is written. */
+    public static Map<String, Object> fromUpdatedFields(Employee updatedFields) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (updatedFields.getFirstName() != null) {
+            changes.put("firstName", updatedFields.getFirstName());
+        }
+        if (updatedFields.getLastName() != null) {
+            changes.put("lastName", updatedFields.getLastName());
+        }
+        if (updatedFields.getEmailId() != null) {
+            changes.put("emailId", updatedFields.getEmailId());
+        }
+        return changes;
+    }
+
+    /**
+     * JSON Merge Patch (RFC 7396): only the members present are changed. Every
+     * column is NOT NULL, so a null member (which would mean "remove") is
+     * rejected rather than applied.
+     */
+    public static Map<String, Object> fromMergePatch(Map<String, Object> patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> member : patch.entrySet()) {
+            if (!PATCHABLE_FIELDS.contains(member.getKey())) {
+                throw BadRequestException.stackless("Property " + member.getKey() + " cannot be patched");
+            }
+            if (member.getValue() == null) {
+                throw BadRequestException.stackless("Property " + member.getKey() + " cannot be removed");
+            }
+            if (!(member.getValue() instanceof String)) {
+                throw BadRequestException.stackless("Property " + member.getKey() + " must be a string");
+            }
+            changes.put(member.getKey(), member.getValue());
+        }
+        return changes;
+    }
+
+    public static void validate(Validator validator, Map<String, Object> changes) {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            for (ConstraintViolation<Employee> violation : validator.validateValue(Employee.class, change.getKey(), change.getValue())) {
+                errors.add(change.getKey() + " " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw BadRequestException.stackless(String.join(", ", errors));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tenex.rest.springboot4.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole employees table to an output stream one row at a time.
+ * Rows come from a forward-only cursor and are detached as soon as they are
+ * written, so memory use does not grow with the size of the table.
+ */
+@Service
+public class EmployeeExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The transaction keeps the JDBC connection (and its server-side cursor) open while we stream.
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+            Iterator<Employee> iterator = employees.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Employee employee = iterator.next();
+                writer.writeValue(generator, employee);
+                generator.writeRaw('\n');
+                entityManager.detach(employee);
+
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+             Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            writer.write("id,first_name,last_name,email_id\n");
+
+            Iterator<Employee> iterator = employees.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Employee employee = iterator.next();
+                writer.write(Long.toString(employee.getId()));
+                writer.write(',');
+                writeCsvField(writer, employee.getFirstName());
+                writer.write(',');
+                writeCsvField(writer, employee.getLastName());
+                writer.write(',');
+                writeCsvField(writer, employee.getEmailId());
+                writer.write('\n');
+                entityManager.detach(employee);
+
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,201 @@
+package com.tenex.rest.springboot4.service;
+
+import com.tenex.rest.springboot4.dto.EmployeeChange;
+import com.tenex.rest.springboot4.dto.EmployeeChangesResponse;
+import com.tenex.rest.springboot4.dto.EmployeeLookupResponse;
+import com.tenex.rest.springboot4.dto.EmployeeSummary;
+import com.tenex.rest.springboot4.exception.ResourceNotFoundException;
+import com.tenex.rest.springboot4.model.Employee;
+import com.tenex.rest.springboot4.outbox.EmployeeOutbox;
+import com.tenex.rest.springboot4.pagination.ChangePosition;
+import com.tenex.rest.springboot4.repository.EmployeeRepository;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-through cache in front of {@link EmployeeRepository}. Writes made through
+ * this service keep the {@value #CACHE_NAME} cache up to date; writes that go
+ * straight to the repository must evict the affected ids themselves. Every
+ * write also appends its event to the {@link EmployeeOutbox} in the same
+ * transaction.
+ */
+@Service
+public class EmployeeService {
+
+    public static final String CACHE_NAME = "employees";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EmployeeOutbox outbox;
+
+    @Cacheable(cacheNames = CACHE_NAME, key = "#id", unless = "#result == null")
+    public Optional<Employee> findById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    /**
+     * Looks up {@code ids} in the cache first and loads only the misses, with a
+     * single query. Items come back in request order, duplicates included.
+     */
+    public EmployeeLookupResponse findAllById(List<Long> ids) {
+        Map<Long, Employee> employees = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        for (Long id : ids) {
+            Employee cached = cache == null ? null : cache.get(id, Employee.class);
+            if (cached != null) {
+                employees.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Employee employee : employeeRepository.findAllByIdArray(misses)) {
+                employees.put(employee.getId(), employee);
+                if (cache != null) {
+                    cache.put(employee.getId(), employee);
+                }
+            }
+        }
+
+        List<EmployeeLookupResponse.Item> items = new ArrayList<>(ids.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : ids) {
+            Employee employee = employees.get(id);
+            if (employee != null) {
+                items.add(EmployeeLookupResponse.Item.found(employee));
+            } else {
+                items.add(EmployeeLookupResponse.Item.notFound(id));
+                notFound.add(id);
+            }
+        }
+        return new EmployeeLookupResponse(items.size() - notFound.size(), notFound, items);
+    }
+
+    /**
+     * Up to {@code limit} changes after the {@code since} watermark
+     * ({@link ChangePosition#START} for a full initial sync). Cost follows the
+     * number of changes, not the table size. A watermark older than the
+     * tombstone retention window gets a resync response instead.
+     */
+    @Transactional(readOnly = true)
+    public EmployeeChangesResponse findChanges(ChangePosition since, int limit) {
+        if (!since.equals(ChangePosition.START) && employeeRepository.findChangeHorizon().isAfter(since)) {
+            return EmployeeChangesResponse.resync();
+        }
+
+        List<EmployeeChange> changes = employeeRepository.findChangesSince(since, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        ChangePosition next = changes.isEmpty() ? since : changes.get(changes.size() - 1).position();
+        return new EmployeeChangesResponse(changes, next.encode(), hasMore);
+    }
+
+    /** Position a new change feed reader should start from to see only future changes. */
+    @Transactional(readOnly = true)
+    public ChangePosition findChangeHead() {
+        return employeeRepository.findChangeHead();
+    }
+
+    // Projection query in a read-only transaction: no entities, snapshots or flush.
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findSummaries(long afterId, int limit) {
+        return employeeRepository.findSummariesByIdGreaterThan(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Transactional
+    @CachePut(cacheNames = CACHE_NAME, key = "#result.id")
+    public Employee save(Employee employee) {
+        // Create never updates: a client supplied id would merge into an existing row and skip If-Match.
+        employee.setId(0);
+        employee.setVersion(0);
+        Employee saved = employeeRepository.save(employee);
+        outbox.append(EmployeeOutbox.CREATED, saved);
+        return saved;
+    }
+
+    /**
+     * Current version of an employee, read from the database with an index-only
+     * lookup; empty if there is no such employee. The cache is per instance and
+     * can miss writes made through other instances, so it is not consulted.
+     */
+    public Optional<Long> findVersion(Long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    // Replaces a cache entry that findVersion showed to be out of date.
+    @CachePut(cacheNames = CACHE_NAME, key = "#id", unless = "#result == null")
+    public Optional<Employee> reload(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    /**
+     * Applies {@code changes} (property name to new value) with a single
+     * {@code UPDATE ... RETURNING}; no SELECT, no dirty check, and only the
+     * given columns are written. With {@code expectedVersion} the update only
+     * happens if the row is still at that version (optimistic concurrency).
+     */
+    @Transactional
+    @CachePut(cacheNames = CACHE_NAME, key = "#id", unless = "#result == null")
+    public Optional<Employee> update(Long id, Map<String, Object> changes, Long expectedVersion) {
+        EmployeeChanges.validate(validator, changes);
+
+        if (changes.isEmpty()) {
+            return employeeRepository.findById(id)
+                    .filter(employee -> expectedVersion == null || employee.getVersion() == expectedVersion);
+        }
+        Optional<Employee> updated = employeeRepository.updateColumns(id, changes, expectedVersion);
+        updated.ifPresent(employee -> outbox.append(EmployeeOutbox.UPDATED, employee));
+        return updated;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#id")
+    public void deleteById(Long id) {
+        if (employeeRepository.deleteEmployeeById(id) == 0) {
+            throw ResourceNotFoundException.stackless("Error:  Employee of id " + id + " could not be found");
+        }
+        outbox.appendDeleted(List.of(id));
+    }
+
+    @Transactional
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        List<Long> deleted = employeeRepository.deleteAllByIdReturningIds(ids);
+        outbox.appendDeleted(deleted);
+        // The cache is transaction-aware, so these evictions run after commit.
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            deleted.forEach(cache::evict);
+        }
+        return deleted;
+    }
+}
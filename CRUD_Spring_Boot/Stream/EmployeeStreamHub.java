@@ -0,0 +1,369 @@
+package com.tenex.rest.springboot4.stream;
+
+import com.tenex.rest.springboot4.dto.EmployeeChange;
+import com.tenex.rest.springboot4.dto.EmployeeChangesResponse;
+import com.tenex.rest.springboot4.pagination.ChangePosition;
+import com.tenex.rest.springboot4.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans the employee change feed out to SSE subscribers.
+ *
+ * - One scheduled tick reads the feed for everyone, and only while someone is
+ *   subscribed. Changes to the same id within a tick are coalesced into one
+ *   event carrying the latest state.
+ * - Each subscriber has a bounded buffer. A sender thread is borrowed only
+ *   while a subscriber has something to write; an idle subscriber holds no
+ *   thread, only its async request. The pool grows up to
+ *   {@code max-send-threads}, so a few stalled clients blocked in a servlet
+ *   write cannot stop delivery to everyone else. Beyond that, drains wait in
+ *   a queue of {@code send-queue-size}; a subscriber whose drain is still
+ *   rejected is retried on the next tick rather than the next heartbeat.
+ * - A subscriber whose buffer overflows is dropped on the tick thread right
+ *   away, without waiting for a sender; it then gets a {@code resync} event
+ *   with the token of the last change it received, and is closed. The client
+ *   catches up through {@code /employees/changes?since=} and reconnects.
+ * - A write blocked longer than {@code write-timeout-ms} detaches the
+ *   subscriber the same way. The blocked thread itself is released by the
+ *   container's socket write timeout ({@code server.tomcat.connection-timeout}).
+ * - Event ids are change feed tokens, so a reconnect with
+ *   {@code Last-Event-ID} resumes where the stream stopped.
+ *
+ * Events are not real time: the feed only serves a change once every older
+ * transaction has finished, and the tick adds up to {@code tick-ms} on top,
+ * so a long-running transaction delays the stream for every subscriber.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStreamHub.class);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employees.stream.buffer-size:1000}")
+    private int bufferSize;
+
+    @Value("${employees.stream.page-size:1000}")
+    private int pageSize;
+
+    @Value("${employees.stream.max-pages-per-tick:10}")
+    private int maxPagesPerTick;
+
+    @Value("${employees.stream.max-send-threads:256}")
+    private int maxSendThreads;
+
+    // Each subscriber has at most one drain queued, so this only needs to cover the subscriber count.
+    @Value("${employees.stream.send-queue-size:100000}")
+    private int sendQueueSize;
+
+    @Value("${employees.stream.write-timeout-ms:10000}")
+    private long writeTimeoutMillis;
+
+    @Value("${employees.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Subscribers whose drain the sender rejected; retried on the next tick.
+    private final Set<Subscriber> rejected = ConcurrentHashMap.newKeySet();
+
+    // Guards cursor, and makes subscribing atomic with respect to a tick's fan-out.
+    private final Object lock = new Object();
+
+    // Last change position fanned out; null while nobody is subscribed.
+    private ChangePosition cursor;
+
+    private ThreadPoolExecutor sender;
+    private Counter events;
+    private Counter coalesced;
+    private Counter resyncs;
+    private Counter stalled;
+
+    @PostConstruct
+    void init() {
+        // Core = max with core timeout: threads are added up to the max before anything queues, and idle ones retire.
+        sender = new ThreadPoolExecutor(maxSendThreads, maxSendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(sendQueueSize), Thread.ofPlatform().name("employee-stream-", 0).daemon().factory());
+        sender.allowCoreThreadTimeOut(true);
+        meterRegistry.gauge("employees.stream.subscribers", subscribers, Set::size);
+        events = meterRegistry.counter("employees.stream.events");
+        coalesced = meterRegistry.counter("employees.stream.coalesced");
+        resyncs = meterRegistry.counter("employees.stream.resyncs");
+        stalled = meterRegistry.counter("employees.stream.stalled");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Opens a stream of changes after {@code since}, or of future changes only
+     * when it is null. A backlog larger than one buffer is answered with an
+     * immediate {@code resync}.
+     */
+    public SseEmitter subscribe(ChangePosition since) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> {
+            subscribers.remove(subscriber);
+            rejected.remove(subscriber);
+        });
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            if (cursor == null) {
+                cursor = employeeService.findChangeHead();
+            }
+            if (since == null) {
+                subscriber.start(cursor);
+            } else {
+                subscriber.start(since);
+                EmployeeChangesResponse backlog = employeeService.findChanges(since, bufferSize);
+                if (backlog.hasMore() || backlog.resyncRequired()) {
+                    subscriber.resync();
+                    return emitter;
+                }
+                subscriber.offer(backlog.changes());
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${employees.stream.tick-ms:500}")
+    public void tick() {
+        for (Subscriber subscriber : rejected) {
+            rejected.remove(subscriber);
+            subscriber.retry();
+        }
+        try {
+            synchronized (lock) {
+                if (subscribers.isEmpty()) {
+                    cursor = null;
+                    return;
+                }
+
+                Map<Long, EmployeeChange> changes = new LinkedHashMap<>();
+                int read = 0;
+                for (int page = 0; page < maxPagesPerTick; page++) {
+                    EmployeeChangesResponse response = employeeService.findChanges(cursor, pageSize);
+                    for (EmployeeChange change : response.changes()) {
+                        // Remove first so the entry moves to the end and the batch stays in position order.
+                        changes.put(change.id(), coalesce(changes.remove(change.id()), change));
+                        cursor = change.position();
+                    }
+                    read += response.changes().size();
+                    if (!response.hasMore()) {
+                        break;
+                    }
+                }
+                if (changes.isEmpty()) {
+                    return;
+                }
+
+                coalesced.increment(read - changes.size());
+                List<EmployeeChange> batch = List.copyOf(changes.values());
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(batch);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Employee stream tick failed, will retry: {}", ex.toString());
+        }
+    }
+
+    // Comment lines keep idle connections open through proxies and surface dead ones; also enforces the write deadline.
+    @Scheduled(fixedDelayString = "${employees.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.writingSince(now) > TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis)) {
+                stalled.increment();
+                subscriber.resync();
+            } else {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    // A row created and then updated within the tick is still new to the subscriber.
+    private static EmployeeChange coalesce(EmployeeChange previous, EmployeeChange change) {
+        if (previous != null && previous.type() == EmployeeChange.Type.CREATED && change.type() == EmployeeChange.Type.UPDATED) {
+            return new EmployeeChange(change.position(), EmployeeChange.Type.CREATED, change.id(), change.employee());
+        }
+        return change;
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+
+        private final ArrayDeque<EmployeeChange> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Highest position buffered, guarded by this.
+        private ChangePosition queued;
+        private boolean resync;
+        private boolean heartbeat;
+
+        // Highest position written to the client; only touched by the single active drain.
+        private ChangePosition sent;
+
+        // System.nanoTime() when the current write started, 0 when not writing.
+        private volatile long writeStarted;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void start(ChangePosition position) {
+            queued = position;
+            sent = position;
+        }
+
+        synchronized void offer(List<EmployeeChange> changes) {
+            if (resync) {
+                return;
+            }
+            for (EmployeeChange change : changes) {
+                if (!change.position().isAfter(queued)) {
+                    continue;
+                }
+                if (buffer.size() == bufferSize) {
+                    resync();
+                    return;
+                }
+                buffer.add(change);
+                queued = change.position();
+            }
+            schedule();
+        }
+
+        // Drops the subscriber immediately; the resync event itself goes out once a write is possible.
+        synchronized void resync() {
+            if (!resync) {
+                resyncs.increment();
+            }
+            buffer.clear();
+            resync = true;
+            subscribers.remove(this);
+            schedule();
+        }
+
+        long writingSince(long now) {
+            long started = writeStarted;
+            return started == 0 ? 0 : now - started;
+        }
+
+        synchronized void heartbeat() {
+            heartbeat = true;
+            schedule();
+        }
+
+        synchronized void retry() {
+            schedule();
+        }
+
+        private void schedule() {
+            if (!buffer.isEmpty() || resync || heartbeat) {
+                if (draining.compareAndSet(false, true)) {
+                    try {
+                        sender.execute(this::drain);
+                    } catch (RejectedExecutionException ex) {
+                        // Every sender is busy and the queue is full, or the hub is shutting down.
+                        draining.set(false);
+                        if (resync || sender.isShutdown()) {
+                            // Dropped subscribers get no more retries; no write is in flight, so closing here is safe.
+                            emitter.complete();
+                        } else {
+                            rejected.add(this);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    EmployeeChange change;
+                    boolean sendResync;
+                    boolean sendHeartbeat;
+                    synchronized (this) {
+                        change = buffer.poll();
+                        sendResync = change == null && resync;
+                        sendHeartbeat = change == null && !resync && heartbeat;
+                        heartbeat = false;
+                        if (change == null && !sendResync && !sendHeartbeat) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+
+                    if (change != null) {
+                        write(SseEmitter.event()
+                                .id(change.position().encode())
+                                .name(change.type().name().toLowerCase(Locale.ROOT))
+                                .data(change, MediaType.APPLICATION_JSON));
+                        sent = change.position();
+                        events.increment();
+                    } else if (sendResync) {
+                        // Draining stays set: this subscriber is finished.
+                        write(SseEmitter.event().name("resync").data(sent.encode()));
+                        emitter.complete();
+                        return;
+                    } else {
+                        write(SseEmitter.event().comment("keepalive"));
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away or the emitter already completed; the container cleans up the request.
+                subscribers.remove(this);
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            long started = System.nanoTime();
+            writeStarted = started == 0 ? 1 : started;
+            try {
+                emitter.send(event);
+            } finally {
+                writeStarted = 0;
+            }
+        }
+    }
+}
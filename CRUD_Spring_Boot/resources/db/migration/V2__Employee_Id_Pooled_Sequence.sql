@@ -0,0 +1,6 @@
+-- Employee ids now come from Hibernate's pooled optimizer (allocationSize = 50)
+-- so inserts can be JDBC batched. The sequence has to step by the same amount,
+-- and is moved past the current max id so no block overlaps existing rows.
+ALTER SEQUENCE employees_id_seq INCREMENT BY 50;
+
+SELECT setval('employees_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM employees));
@@ -0,0 +1,3 @@
+-- Optimistic locking and ETags: every write bumps version (Hibernate for JPA
+-- writes, the SQL itself for the hand-written UPDATEs).
+ALTER TABLE employees ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,55 @@
+-- Change feed behind GET /api/v1/employees/changes. Every insert and update
+-- takes the next change_seq; deletes leave a tombstone that takes one too, so
+-- a client can replay everything after its last seen seq in order.
+CREATE SEQUENCE employees_change_seq;
+
+ALTER TABLE employees
+    ADD COLUMN change_seq bigint,
+    ADD COLUMN created_seq bigint,
+    ADD COLUMN updated_at timestamptz NOT NULL DEFAULT clock_timestamp();
+
+UPDATE employees SET change_seq = nextval('employees_change_seq');
+UPDATE employees SET created_seq = change_seq;
+
+ALTER TABLE employees
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN created_seq SET NOT NULL;
+
+CREATE INDEX employees_change_seq_idx ON employees (change_seq);
+
+CREATE TABLE employee_tombstones (
+    change_seq bigint PRIMARY KEY DEFAULT nextval('employees_change_seq'),
+    id bigint NOT NULL,
+    deleted_at timestamptz NOT NULL DEFAULT clock_timestamp()
+);
+
+-- clock_timestamp(), not now(): the feed holds back rows younger than a settle
+-- window, and that has to be measured from when the row was written, not from
+-- when its transaction started.
+CREATE FUNCTION employees_track_change() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := nextval('employees_change_seq');
+    NEW.updated_at := clock_timestamp();
+    IF TG_OP = 'INSERT' THEN
+        NEW.created_seq := NEW.change_seq;
+    ELSE
+        NEW.created_seq := OLD.created_seq;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_track_change
+    BEFORE INSERT OR UPDATE ON employees
+    FOR EACH ROW EXECUTE FUNCTION employees_track_change();
+
+CREATE FUNCTION employees_track_delete() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO employee_tombstones (id) VALUES (OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_track_delete
+    AFTER DELETE ON employees
+    FOR EACH ROW EXECUTE FUNCTION employees_track_delete();
@@ -0,0 +1,9 @@
+-- Transactional outbox: employee writes append here in their own transaction,
+-- OutboxRelay drains it in id order and deletes what it has published.
+CREATE TABLE employee_outbox (
+    id bigserial PRIMARY KEY,
+    aggregate_id bigint NOT NULL,
+    event_type text NOT NULL,
+    payload jsonb NOT NULL,
+    created_at timestamptz NOT NULL DEFAULT clock_timestamp()
+);
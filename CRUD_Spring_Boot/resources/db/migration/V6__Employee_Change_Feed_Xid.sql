@@ -0,0 +1,47 @@
+-- Orders the change feed by (writing transaction id, change seq) and only
+-- serves changes from transactions older than the oldest one still running
+-- (pg_snapshot_xmin). A long transaction therefore holds the feed back instead
+-- of losing its rows, which the V4 settle window could not guarantee.
+ALTER TABLE employees
+    ADD COLUMN change_xid xid8,
+    ADD COLUMN created_xid xid8;
+
+UPDATE employees SET change_xid = pg_current_xact_id(), created_xid = pg_current_xact_id();
+
+ALTER TABLE employees
+    ALTER COLUMN change_xid SET NOT NULL,
+    ALTER COLUMN created_xid SET NOT NULL;
+
+DROP INDEX employees_change_seq_idx;
+CREATE INDEX employees_change_position_idx ON employees (change_xid, change_seq);
+
+ALTER TABLE employee_tombstones
+    ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE INDEX employee_tombstones_position_idx ON employee_tombstones (change_xid, change_seq);
+CREATE INDEX employee_tombstones_deleted_at_idx ON employee_tombstones (deleted_at);
+
+-- Highest position whose tombstone has been pruned; older tokens must resync.
+CREATE TABLE employee_change_horizon (
+    id int PRIMARY KEY CHECK (id = 1),
+    change_xid xid8 NOT NULL,
+    change_seq bigint NOT NULL
+);
+
+INSERT INTO employee_change_horizon (id, change_xid, change_seq) VALUES (1, '0', 0);
+
+CREATE OR REPLACE FUNCTION employees_track_change() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := nextval('employees_change_seq');
+    NEW.change_xid := pg_current_xact_id();
+    NEW.updated_at := clock_timestamp();
+    IF TG_OP = 'INSERT' THEN
+        NEW.created_seq := NEW.change_seq;
+        NEW.created_xid := NEW.change_xid;
+    ELSE
+        NEW.created_seq := OLD.created_seq;
+        NEW.created_xid := OLD.created_xid;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;